@@ -1,16 +1,19 @@
 package ru.practicum.shareit.booking;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingFilter;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.cache.ResourceRef;
+import ru.practicum.shareit.cache.ResourceType;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerTransportFactory;
 
 @Service
 public class BookingClient extends BaseClient {
@@ -18,45 +21,54 @@ public class BookingClient extends BaseClient {
   private static final String API_PREFIX = "/bookings";
 
   @Autowired
-  public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-    super(
-        builder
-            .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-            .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-            .build()
-    );
+  public BookingClient(ShareItServerTransportFactory transportFactory, GatewayResponseCache cache) {
+    super(transportFactory.create(API_PREFIX), cache);
   }
 
-  public ResponseEntity<Object> bookItem(long userId, BookingCreateRequestDto requestDto) {
-    return post("", userId, requestDto);
+  public Mono<ResponseEntity<Object>> bookItem(long userId, BookingCreateRequestDto requestDto) {
+    if (requestDto.getItemId() == null) {
+      return post("", userId, requestDto);
+    }
+    return invalidating(post("", userId, requestDto), new ResourceRef(ResourceType.ITEM, requestDto.getItemId()));
   }
 
-  public ResponseEntity<Object> decidingOnRequest(long userId, long bookingId, boolean approved) {
+  public Mono<ResponseEntity<Object>> decidingOnRequest(long userId, long bookingId, boolean approved) {
     Map<String, Object> parameters = Map.of(
         "approved", approved
     );
-    return patch("/" + bookingId + "?approved={approved}", userId, parameters);
+    return invalidating(patch("/" + bookingId + "?approved={approved}", userId, parameters), ResourceType.ITEM);
   }
 
-  public ResponseEntity<Object> getBookingInfo(long userId, Long bookingId) {
-    return get("/" + bookingId, userId);
+  public Mono<ResponseEntity<Object>> getBookingInfo(long userId, Long bookingId, String ifNoneMatch) {
+    return get("/" + bookingId, userId, null, ifNoneMatch);
   }
 
-  public ResponseEntity<Object> getAllBookingInfo(long userId, BookingFilter state, Integer from, Integer size) {
-    Map<String, Object> parameters = Map.of(
-        "state", state.name(),
-        "from", from != null ? from : 0,
-        "size", size != null ? size : Integer.MAX_VALUE
-    );
-    return get("?state={state}&from={from}&size={size}", userId, parameters);
+  public Mono<ResponseEntity<Object>> getAllBookingInfo(long userId, BookingFilter state, Integer from, Integer size,
+      String cursor, String ifNoneMatch) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("state", state.name());
+    putIfPresent(parameters, "from", from);
+    putIfPresent(parameters, "size", size);
+    putIfPresent(parameters, "cursor", cursor);
+    return get(toQuery(parameters), userId, parameters, ifNoneMatch);
+  }
+
+  public Mono<ResponseEntity<Object>> getAllOwnerBookingInfo(long userId, BookingFilter state, Integer from,
+      Integer size, String cursor, String ifNoneMatch) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("state", state.name());
+    putIfPresent(parameters, "from", from);
+    putIfPresent(parameters, "size", size);
+    putIfPresent(parameters, "cursor", cursor);
+    return get("/owner" + toQuery(parameters), userId, parameters, ifNoneMatch);
   }
 
-  public ResponseEntity<Object> getAllOwnerBookingInfo(long userId, BookingFilter state, Integer from, Integer size) {
+  public Mono<ResponseEntity<Object>> exportOwnerBookings(long userId, BookingFilter state,
+      BookingExportFormat format) {
     Map<String, Object> parameters = Map.of(
         "state", state.name(),
-        "from", from != null ? from : 0,
-        "size", size != null ? size : Integer.MAX_VALUE
+        "format", format.name()
     );
-    return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    return get("/owner/export?state={state}&format={format}", userId, parameters);
   }
 }
@@ -5,6 +5,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -16,7 +17,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingFilter;
 
 @Controller
@@ -29,37 +32,49 @@ public class BookingController {
   private final BookingClient bookingClient;
 
   @PostMapping
-  public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long bookerId,
+  public Mono<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long bookerId,
       @Valid @RequestBody BookingCreateRequestDto createRequestDto) {
     return bookingClient.bookItem(bookerId, createRequestDto);
   }
 
   @PatchMapping("/{bookingId}")
-  public ResponseEntity<Object> decidingOnRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+  public Mono<ResponseEntity<Object>> decidingOnRequest(@RequestHeader("X-Sharer-User-Id") long userId,
       @PathVariable long bookingId,
       @RequestParam("approved") boolean isApproved) {
     return bookingClient.decidingOnRequest(userId, bookingId, isApproved);
   }
 
   @GetMapping("/{bookingId}")
-  public ResponseEntity<Object> getBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
-      @PathVariable long bookingId) {
-    return bookingClient.getBookingInfo(userId, bookingId);
+  public Mono<ResponseEntity<Object>> getBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
+      @PathVariable long bookingId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return bookingClient.getBookingInfo(userId, bookingId, ifNoneMatch);
   }
 
   @GetMapping
-  public ResponseEntity<Object> getAllBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
+  public Mono<ResponseEntity<Object>> getAllBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
       @RequestParam(required = false, defaultValue = "ALL") BookingFilter state,
       @RequestParam(value = "from", required = false) @PositiveOrZero Integer from,
-      @RequestParam(value = "size", required = false) @Positive Integer size) {
-    return bookingClient.getAllBookingInfo(userId, state, from, size);
+      @RequestParam(value = "size", required = false) @Positive Integer size,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return bookingClient.getAllBookingInfo(userId, state, from, size, cursor, ifNoneMatch);
   }
 
   @GetMapping("/owner")
-  public ResponseEntity<Object> getAllOwnerBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
+  public Mono<ResponseEntity<Object>> getAllOwnerBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
       @RequestParam(required = false, defaultValue = "ALL") BookingFilter state,
       @RequestParam(value = "from", required = false) @PositiveOrZero Integer from,
-      @RequestParam(value = "size", required = false) @Positive Integer size) {
-    return bookingClient.getAllOwnerBookingInfo(userId, state, from, size);
+      @RequestParam(value = "size", required = false) @Positive Integer size,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return bookingClient.getAllOwnerBookingInfo(userId, state, from, size, cursor, ifNoneMatch);
+  }
+
+  @GetMapping("/owner/export")
+  public Mono<ResponseEntity<Object>> exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+      @RequestParam(required = false, defaultValue = "ALL") BookingFilter state,
+      @RequestParam("format") BookingExportFormat format) {
+    return bookingClient.exportOwnerBookings(userId, state, format);
   }
 }
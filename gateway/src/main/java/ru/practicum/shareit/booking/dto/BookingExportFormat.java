@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.dto;
+
+public enum BookingExportFormat {
+
+  CSV, NDJSON
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.cache;
+
+import java.util.Arrays;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+@Getter
+@AllArgsConstructor
+class CachedResponse {
+
+  private final ResourceRef resource;
+  private final HttpHeaders headers;
+  private final byte[] body;
+
+  ResponseEntity<Object> toResponse(@Nullable String ifNoneMatch) {
+    var eTag = headers.getETag();
+    if (ifNoneMatch != null && eTag != null && matches(ifNoneMatch, eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(eTag)
+          .build();
+    }
+    return ResponseEntity.ok()
+        .headers(headers)
+        .body(body);
+  }
+
+  private static boolean matches(String ifNoneMatch, String eTag) {
+    var opaqueTag = stripWeak(eTag);
+    return Arrays.stream(ifNoneMatch.split(","))
+        .map(String::trim)
+        .anyMatch(s -> "*".equals(s) || stripWeak(s).equals(opaqueTag));
+  }
+
+  private static String stripWeak(String eTag) {
+    return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+  }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class GatewayCacheProperties {
+
+  private boolean enabled = true;
+  private long maxSize = 10_000;
+  private Duration ttl = Duration.ofSeconds(30);
+  private long pollIntervalMs = 1000;
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ShareItServerTransport;
+
+@Component
+@EnableConfigurationProperties(GatewayCacheProperties.class)
+public class GatewayResponseCache {
+
+  private static final String CACHE_NAME = "gateway.responses";
+
+  private final boolean enabled;
+  private final Cache<String, CachedResponse> cache;
+  private final Map<ResourceRef, Set<String>> keysByResource = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  @Autowired
+  public GatewayResponseCache(GatewayCacheProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.isEnabled();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaxSize())
+        .expireAfterWrite(properties.getTtl())
+        .evictionListener((String key, CachedResponse response, RemovalCause cause) -> unindex(key, response))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public Mono<ResponseEntity<Object>> get(ResourceRef resource, String key, @Nullable String ifNoneMatch,
+      Supplier<Mono<ResponseEntity<Object>>> loader) {
+    return Mono.defer(() -> {
+      var cached = cache.getIfPresent(key);
+      if (cached != null) {
+        return Mono.just(cached.toResponse(ifNoneMatch));
+      }
+      var loadGeneration = generation.get();
+      return loader.get()
+          .flatMap(ShareItServerTransport::buffered)
+          .map(response -> store(resource, key, loadGeneration, response, ifNoneMatch));
+    });
+  }
+
+  public void invalidate(ResourceRef resource) {
+    generation.incrementAndGet();
+    var keys = keysByResource.remove(resource);
+    if (keys != null) {
+      cache.invalidateAll(keys);
+    }
+  }
+
+  public void invalidateAll(ResourceType type) {
+    generation.incrementAndGet();
+    keysByResource.keySet().stream()
+        .filter(s -> s.getType() == type)
+        .forEach(this::invalidate);
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    keysByResource.clear();
+    cache.invalidateAll();
+  }
+
+  private ResponseEntity<Object> store(ResourceRef resource, String key, long loadGeneration,
+      ResponseEntity<Object> response, @Nullable String ifNoneMatch) {
+    if (response.getStatusCode() != HttpStatus.OK || generation.get() != loadGeneration) {
+      return response;
+    }
+
+    var cached = new CachedResponse(resource, response.getHeaders(), readBody(response));
+    keysByResource.compute(resource, (ref, keys) -> {
+      var resourceKeys = keys != null ? keys : ConcurrentHashMap.<String>newKeySet();
+      resourceKeys.add(key);
+      return resourceKeys;
+    });
+    cache.put(key, cached);
+    if (generation.get() != loadGeneration) {
+      cache.invalidate(key);
+    }
+    return cached.toResponse(ifNoneMatch);
+  }
+
+  private void unindex(String key, CachedResponse response) {
+    if (response == null) {
+      return;
+    }
+    keysByResource.computeIfPresent(response.getResource(), (ref, keys) -> {
+      keys.remove(key);
+      return keys.isEmpty() ? null : keys;
+    });
+  }
+
+  private static byte[] readBody(ResponseEntity<Object> response) {
+    try {
+      return ShareItServerTransport.readBody(response.getBody());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.dto.InvalidationBatchDto;
+import ru.practicum.shareit.client.ShareItServerProperties;
+import ru.practicum.shareit.client.ShareItServerTransport;
+import ru.practicum.shareit.client.ShareItServerTransportFactory;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit-gateway.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class InvalidationPoller {
+
+  private static final String API_PREFIX = "/invalidations";
+
+  private final ShareItServerTransport transport;
+  private final GatewayResponseCache cache;
+  private final ObjectMapper mapper;
+  private final ShareItServerProperties serverProperties;
+  private String epoch = "";
+  private long sequence;
+
+  @Autowired
+  public InvalidationPoller(ShareItServerTransportFactory transportFactory, GatewayResponseCache cache,
+      ObjectMapper mapper, ShareItServerProperties serverProperties) {
+    this.transport = transportFactory.create(API_PREFIX);
+    this.cache = cache;
+    this.mapper = mapper;
+    this.serverProperties = serverProperties;
+  }
+
+  @Scheduled(fixedDelayString = "${shareit-gateway.cache.poll-interval-ms}")
+  public void poll() {
+    try {
+      apply(fetchBatch());
+    } catch (IOException | RuntimeException e) {
+      if (!epoch.isEmpty()) {
+        log.warn("Could not fetch cache invalidations, dropping cached responses: {}", e.getMessage());
+      }
+      cache.invalidateAll();
+      epoch = "";
+      sequence = 0;
+    }
+  }
+
+  private InvalidationBatchDto fetchBatch() throws IOException {
+    var headers = new HttpHeaders();
+    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+    var response = transport.exchange(HttpMethod.GET, "?epoch={epoch}&after={after}", headers,
+            Map.of("epoch", epoch, "after", sequence), null)
+        .flatMap(ShareItServerTransport::buffered)
+        .block(serverProperties.getReadTimeout());
+    if (response == null || !response.getStatusCode().is2xxSuccessful()) {
+      throw new IllegalStateException("Unexpected invalidation response "
+          + (response != null ? response.getStatusCode() : null));
+    }
+    return mapper.readValue(ShareItServerTransport.readBody(response.getBody()), InvalidationBatchDto.class);
+  }
+
+  private void apply(InvalidationBatchDto batch) {
+    if (batch.isReset()) {
+      cache.invalidateAll();
+    } else {
+      batch.getEvents().forEach(s -> cache.invalidate(new ResourceRef(s.getType(), s.getId())));
+    }
+    epoch = batch.getEpoch();
+    sequence = batch.getSequence();
+  }
+}
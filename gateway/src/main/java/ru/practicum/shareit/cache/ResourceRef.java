@@ -0,0 +1,14 @@
+package ru.practicum.shareit.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class ResourceRef {
+
+  private final ResourceType type;
+  private final long id;
+}
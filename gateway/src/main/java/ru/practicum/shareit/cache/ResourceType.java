@@ -0,0 +1,5 @@
+package ru.practicum.shareit.cache;
+
+public enum ResourceType {
+  USER, ITEM, REQUEST
+}
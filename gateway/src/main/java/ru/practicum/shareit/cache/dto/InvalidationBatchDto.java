@@ -0,0 +1,19 @@
+package ru.practicum.shareit.cache.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class InvalidationBatchDto {
+
+  private String epoch;
+  private long sequence;
+  private boolean reset;
+  private List<InvalidationEntryDto> events;
+}
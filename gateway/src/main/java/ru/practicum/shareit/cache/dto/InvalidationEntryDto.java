@@ -0,0 +1,18 @@
+package ru.practicum.shareit.cache.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.cache.ResourceType;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class InvalidationEntryDto {
+
+  private long sequence;
+  private ResourceType type;
+  private long id;
+}
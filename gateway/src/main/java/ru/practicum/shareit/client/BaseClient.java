@@ -2,102 +2,167 @@ package ru.practicum.shareit.client;
 
 import java.util.List;
 import java.util.Map;
-import org.springframework.http.HttpEntity;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.cache.ResourceRef;
+import ru.practicum.shareit.cache.ResourceType;
 
 public class BaseClient {
 
-  protected final RestTemplate rest;
+  protected final ShareItServerTransport transport;
+  @Nullable
+  private final GatewayResponseCache cache;
 
-  public BaseClient(RestTemplate rest) {
-    this.rest = rest;
+  public BaseClient(ShareItServerTransport transport) {
+    this(transport, null);
   }
 
-  protected ResponseEntity<Object> get(String path) {
+  public BaseClient(ShareItServerTransport transport, @Nullable GatewayResponseCache cache) {
+    this.transport = transport;
+    this.cache = cache;
+  }
+
+  protected Mono<ResponseEntity<Object>> get(String path) {
     return get(path, null, null);
   }
 
-  protected ResponseEntity<Object> get(String path, long userId) {
+  protected Mono<ResponseEntity<Object>> get(String path, long userId) {
     return get(path, userId, null);
   }
 
-  protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-    return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+  protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    return get(path, userId, parameters, null);
+  }
+
+  protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+      @Nullable String ifNoneMatch) {
+    HttpHeaders headers = defaultHeaders(userId);
+    if (ifNoneMatch != null) {
+      headers.setIfNoneMatch(ifNoneMatch);
+    }
+    return transport.exchange(HttpMethod.GET, path, headers, parameters, null);
+  }
+
+  protected Mono<ResponseEntity<Object>> getCached(ResourceType type, long id, String path, @Nullable Long userId,
+      @Nullable String ifNoneMatch) {
+    if (cache == null || !cache.isEnabled()) {
+      return get(path, userId, null, ifNoneMatch);
+    }
+    return cache.get(new ResourceRef(type, id), type + ":" + path + ":" + userId, ifNoneMatch,
+        () -> get(path, userId, null));
   }
 
-  protected <T> ResponseEntity<Object> post(String path, T body) {
+  protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
     return post(path, null, null, body);
   }
 
-  protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+  protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
     return post(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters,
+  protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters,
       T body) {
     return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
   }
 
-  protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+  protected Mono<ResponseEntity<Object>> post(String path, long userId, MediaType contentType, Resource body) {
+    HttpHeaders headers = defaultHeaders(userId);
+    headers.setContentType(contentType);
+    return transport.exchange(HttpMethod.POST, path, headers, null, body);
+  }
+
+  protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
     return put(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+  protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters,
+      T body) {
     return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, T body) {
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
     return patch(path, null, null, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, long userId) {
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
     return patch(path, userId, null, null);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
     return patch(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, long userId, Map<String, Object> parameters) {
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, Map<String, Object> parameters) {
     return patch(path, userId, parameters, null);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
       T body) {
     return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
   }
 
-  protected ResponseEntity<Object> delete(String path) {
+  protected Mono<ResponseEntity<Object>> delete(String path) {
     return delete(path, null, null);
   }
 
-  protected ResponseEntity<Object> delete(String path, long userId) {
+  protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
     return delete(path, userId, null);
   }
 
-  protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+  protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
     return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
   }
 
-  private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
-      @Nullable Map<String, Object> parameters, @Nullable T body) {
-    HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-    ResponseEntity<Object> shareitServerResponse;
-    try {
-      shareitServerResponse = parameters != null
-          ? rest.exchange(path, method, requestEntity, Object.class, parameters)
-          : rest.exchange(path, method, requestEntity, Object.class);
-    } catch (HttpStatusCodeException e) {
-      return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+  protected Mono<ResponseEntity<Object>> invalidating(Mono<ResponseEntity<Object>> write, ResourceRef... resources) {
+    return invalidating(write, cache -> {
+      for (var resource : resources) {
+        cache.invalidate(resource);
+      }
+    });
+  }
+
+  protected Mono<ResponseEntity<Object>> invalidating(Mono<ResponseEntity<Object>> write, ResourceType type) {
+    return invalidating(write, cache -> cache.invalidateAll(type));
+  }
+
+  protected Mono<ResponseEntity<Object>> invalidating(Mono<ResponseEntity<Object>> write,
+      Consumer<GatewayResponseCache> invalidation) {
+    if (cache == null) {
+      return write;
     }
-    return prepareGatewayResponse(shareitServerResponse);
+    return write.doOnNext(response -> {
+      if (response.getStatusCode().is2xxSuccessful()) {
+        invalidation.accept(cache);
+      }
+    });
+  }
+
+  protected static void putIfPresent(Map<String, Object> parameters, String name, @Nullable Object value) {
+    if (value != null) {
+      parameters.put(name, value);
+    }
+  }
+
+  protected static String toQuery(Map<String, Object> parameters) {
+    if (parameters.isEmpty()) {
+      return "";
+    }
+    return parameters.keySet().stream()
+        .map(s -> s + "={" + s + "}")
+        .collect(Collectors.joining("&", "?", ""));
+  }
+
+  private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+      @Nullable Map<String, Object> parameters, @Nullable T body) {
+    return transport.exchange(method, path, defaultHeaders(userId), parameters, body);
   }
 
   private HttpHeaders defaultHeaders(Long userId) {
@@ -109,18 +174,4 @@ public class BaseClient {
     }
     return headers;
   }
-
-  private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-    if (response.getStatusCode().is2xxSuccessful()) {
-      return response;
-    }
-
-    ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-    if (response.hasBody()) {
-      return responseBuilder.body(response.getBody());
-    }
-
-    return responseBuilder.build();
-  }
 }
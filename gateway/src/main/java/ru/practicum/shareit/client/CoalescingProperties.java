@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.coalescing")
+public class CoalescingProperties {
+
+  private boolean enabled = true;
+  private List<String> endpoints = new ArrayList<>();
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+public class CoalescingTransport implements ShareItServerTransport {
+
+  private final String apiPrefix;
+  private final ShareItServerTransport delegate;
+  private final RequestCoalescer coalescer;
+
+  CoalescingTransport(String apiPrefix, ShareItServerTransport delegate, RequestCoalescer coalescer) {
+    this.apiPrefix = apiPrefix;
+    this.delegate = delegate;
+    this.coalescer = coalescer;
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+      @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    if (method != HttpMethod.GET || body != null) {
+      return delegate.exchange(method, path, headers, parameters, body);
+    }
+
+    var fullPath = apiPrefix + path;
+    var queryStart = fullPath.indexOf('?');
+    var endpoint = coalescer.findEndpoint(queryStart < 0 ? fullPath : fullPath.substring(0, queryStart));
+    if (endpoint.isEmpty()) {
+      return delegate.exchange(method, path, headers, parameters, body);
+    }
+
+    var key = fullPath + "|" + (parameters != null ? new TreeMap<>(parameters) : Map.of()) + "|" + headers;
+    return coalescer.execute(endpoint.get(), key, () -> delegate.exchange(method, path, headers, parameters, null));
+  }
+}
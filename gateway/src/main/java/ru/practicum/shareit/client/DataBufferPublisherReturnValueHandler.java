@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+public class DataBufferPublisherReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+  private final HandlerMethodReturnValueHandler delegate;
+  private final ResponseBodyEmitterReturnValueHandler emitterHandler;
+
+  public DataBufferPublisherReturnValueHandler(HandlerMethodReturnValueHandler delegate,
+      ResponseBodyEmitterReturnValueHandler emitterHandler) {
+    this.delegate = delegate;
+    this.emitterHandler = emitterHandler;
+  }
+
+  @Override
+  public boolean supportsReturnType(MethodParameter returnType) {
+    return delegate.supportsReturnType(returnType);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+      ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+    var response = returnValue instanceof ResponseEntity ? (ResponseEntity<?>) returnValue : null;
+    if (response == null || !(response.getBody() instanceof Publisher)) {
+      delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+      return;
+    }
+
+    var emitter = new ResponseBodyEmitter();
+    emitterHandler.handleReturnValue(ResponseEntity.status(response.getStatusCodeValue())
+        .headers(response.getHeaders())
+        .body(emitter), returnType, mavContainer, webRequest);
+
+    var subscriber = new EmitterSubscriber(emitter);
+    emitter.onTimeout(subscriber::dispose);
+    emitter.onError(e -> subscriber.dispose());
+    emitter.onCompletion(subscriber::dispose);
+    Flux.from((Publisher<DataBuffer>) response.getBody())
+        .publishOn(Schedulers.boundedElastic(), 1)
+        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+        .subscribe(subscriber);
+  }
+
+  private static class EmitterSubscriber extends BaseSubscriber<DataBuffer> {
+
+    private final ResponseBodyEmitter emitter;
+
+    EmitterSubscriber(ResponseBodyEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+      request(1);
+    }
+
+    @Override
+    protected void hookOnNext(DataBuffer buffer) {
+      byte[] bytes;
+      try {
+        bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+      } finally {
+        DataBufferUtils.release(buffer);
+      }
+      try {
+        emitter.send(bytes);
+        request(1);
+      } catch (IOException e) {
+        cancel();
+        emitter.completeWithError(e);
+      }
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      emitter.complete();
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+      emitter.completeWithError(throwable);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Mono;
+
+@Component
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class RequestCoalescer {
+
+  private static final String METRIC_NAME = "gateway.coalescing.requests";
+
+  private final CoalescingProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+  private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+  @Autowired
+  public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    meterRegistry.gaugeMapSize("gateway.coalescing.in-flight", List.of(), inFlight);
+  }
+
+  public ShareItServerTransport decorate(String apiPrefix, ShareItServerTransport transport) {
+    if (!properties.isEnabled() || properties.getEndpoints().isEmpty()) {
+      return transport;
+    }
+    return new CoalescingTransport(apiPrefix, transport, this);
+  }
+
+  Optional<String> findEndpoint(String path) {
+    return properties.getEndpoints().stream()
+        .filter(s -> pathMatcher.match(s, path))
+        .findFirst();
+  }
+
+  Mono<ResponseEntity<Object>> execute(String endpoint, String key, Supplier<Mono<ResponseEntity<Object>>> call) {
+    return Mono.defer(() -> {
+      var leader = new AtomicBoolean();
+      var flight = inFlight.computeIfAbsent(key, k -> {
+        leader.set(true);
+        return newFlight(k, call);
+      });
+      counter(endpoint, leader.get() ? "leader" : "follower").increment();
+      return flight;
+    });
+  }
+
+  private Mono<ResponseEntity<Object>> newFlight(String key, Supplier<Mono<ResponseEntity<Object>>> call) {
+    var self = new AtomicReference<Mono<ResponseEntity<Object>>>();
+    var flight = Mono.defer(call)
+        .flatMap(ShareItServerTransport::buffered)
+        .doFinally(s -> inFlight.remove(key, self.get()))
+        .cache();
+    self.set(flight);
+    return flight;
+  }
+
+  private Counter counter(String endpoint, String role) {
+    return Counter.builder(METRIC_NAME)
+        .tag("endpoint", endpoint)
+        .tag("role", role)
+        .register(meterRegistry);
+  }
+}
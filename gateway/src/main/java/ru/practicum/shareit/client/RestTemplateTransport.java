@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+public class RestTemplateTransport implements ShareItServerTransport {
+
+  private final RestTemplate rest;
+  private final ClientHttpRequestFactory streamingRequestFactory;
+
+  public RestTemplateTransport(RestTemplate rest, ClientHttpRequestFactory streamingRequestFactory) {
+    this.rest = rest;
+    this.streamingRequestFactory = streamingRequestFactory;
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+      @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    return Mono.fromCallable(() -> send(method, path, headers, parameters, body));
+  }
+
+  private ResponseEntity<Object> send(HttpMethod method, String path, HttpHeaders headers,
+      @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+    URI uri = parameters != null
+        ? rest.getUriTemplateHandler().expand(path, parameters)
+        : rest.getUriTemplateHandler().expand(path);
+
+    try {
+      ClientHttpRequestFactory requestFactory = body instanceof Resource
+          ? streamingRequestFactory
+          : rest.getRequestFactory();
+      ClientHttpRequest request = requestFactory.createRequest(uri, method);
+      rest.httpEntityCallback(requestEntity).doWithRequest(request);
+      return relayResponse(request.execute());
+    } catch (IOException e) {
+      throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+          + e.getMessage(), e);
+    }
+  }
+
+  private static ResponseEntity<Object> relayResponse(ClientHttpResponse response) throws IOException {
+    try {
+      return ResponseEntity.status(response.getRawStatusCode())
+          .headers(ShareItServerTransport.relayableHeaders(response.getHeaders()))
+          .body(new InputStreamResource(new ResponseBodyStream(response)));
+    } catch (IOException | RuntimeException e) {
+      response.close();
+      throw e;
+    }
+  }
+
+  private static class ResponseBodyStream extends FilterInputStream {
+
+    private final ClientHttpResponse response;
+
+    ResponseBodyStream(ClientHttpResponse response) throws IOException {
+      super(response.getBody());
+      this.response = response;
+    }
+
+    @Override
+    public void close() {
+      response.close();
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "blocking", matchIfMissing = true)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class RestTemplateTransportFactory implements ShareItServerTransportFactory {
+
+  private final ShareItServerProperties properties;
+  private final RequestCoalescer coalescer;
+  private final RestTemplateBuilder builder;
+  private final ClientHttpRequestFactory shareItServerRequestFactory;
+
+  @Override
+  public ShareItServerTransport create(String apiPrefix) {
+    return coalescer.decorate(apiPrefix, new RestTemplateTransport(
+        builder
+            .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + apiPrefix))
+            .requestFactory(() -> shareItServerRequestFactory)
+            .build(),
+        shareItServerRequestFactory
+    ));
+  }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties(ShareItServerProperties.class)
+public class ShareItServerClientConfig {
+
+  private static final String POOL_NAME = "shareit-server";
+
+  @Configuration
+  @ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "blocking", matchIfMissing = true)
+  static class BlockingClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(ShareItServerProperties properties) {
+      var pool = properties.getPool();
+      var connectionManager = new PoolingHttpClientConnectionManager(pool.getTimeToLive().toMillis(),
+          TimeUnit.MILLISECONDS);
+      connectionManager.setMaxTotal(pool.getMaxTotal());
+      connectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
+      connectionManager.setValidateAfterInactivity((int) pool.getValidateAfterInactivity().toMillis());
+      return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(ShareItServerProperties properties,
+        PoolingHttpClientConnectionManager shareItServerConnectionManager) {
+      var requestConfig = RequestConfig.custom()
+          .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+          .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+          .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+          .build();
+      return HttpClients.custom()
+          .setConnectionManager(shareItServerConnectionManager)
+          .setConnectionManagerShared(true)
+          .setDefaultRequestConfig(requestConfig)
+          .evictExpiredConnections()
+          .evictIdleConnections(properties.getPool().getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+          .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+      var requestFactory = new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+      requestFactory.setBufferRequestBody(false);
+      return requestFactory;
+    }
+
+    @Bean
+    public MeterBinder shareItServerConnectionPoolMetrics(
+        PoolingHttpClientConnectionManager shareItServerConnectionManager) {
+      return new PoolingHttpClientConnectionManagerMetricsBinder(shareItServerConnectionManager, POOL_NAME);
+    }
+  }
+
+  @Configuration
+  @ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "reactive")
+  static class ReactiveClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(ShareItServerProperties properties) {
+      var pool = properties.getPool();
+      return ConnectionProvider.builder(POOL_NAME)
+          .maxConnections(pool.getMaxTotal())
+          .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+          .maxIdleTime(pool.getIdleTimeout())
+          .maxLifeTime(pool.getTimeToLive())
+          .evictInBackground(pool.getIdleTimeout())
+          .metrics(true)
+          .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(ShareItServerProperties properties,
+        ConnectionProvider shareItServerConnectionProvider) {
+      var httpClient = HttpClient.create(shareItServerConnectionProvider)
+          .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+          .responseTimeout(properties.getReadTimeout());
+      return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public static BeanPostProcessor dataBufferPublisherReturnValueHandlerRegistrar() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (bean instanceof RequestMappingHandlerAdapter) {
+            var adapter = (RequestMappingHandlerAdapter) bean;
+            var emitterHandler = new ResponseBodyEmitterReturnValueHandler(adapter.getMessageConverters());
+            var handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+            handlers.replaceAll(s -> s instanceof HttpEntityMethodProcessor
+                ? new DataBufferPublisherReturnValueHandler(s, emitterHandler)
+                : s);
+            adapter.setReturnValueHandlers(handlers);
+          }
+          return bean;
+        }
+      };
+    }
+  }
+}
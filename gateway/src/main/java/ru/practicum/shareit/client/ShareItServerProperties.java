@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareItServerProperties {
+
+  private String url;
+  private Duration connectTimeout = Duration.ofSeconds(2);
+  private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+  private Duration readTimeout = Duration.ofSeconds(30);
+  private final Pool pool = new Pool();
+
+  @Getter
+  @Setter
+  public static class Pool {
+
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration timeToLive = Duration.ofMinutes(5);
+  }
+}
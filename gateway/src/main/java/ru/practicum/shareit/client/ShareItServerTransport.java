@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+public interface ShareItServerTransport {
+
+  Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+      "te", "trailer", "transfer-encoding", "upgrade");
+
+  Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+      @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+  static HttpHeaders relayableHeaders(HttpHeaders serverHeaders) {
+    HttpHeaders headers = new HttpHeaders();
+    serverHeaders.forEach((name, values) -> {
+      if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+        headers.addAll(name, values);
+      }
+    });
+    return headers;
+  }
+
+  @SuppressWarnings("unchecked")
+  static Mono<ResponseEntity<Object>> buffered(ResponseEntity<Object> response) {
+    var body = response.getBody() instanceof Publisher
+        ? DataBufferUtils.join((Publisher<DataBuffer>) response.getBody())
+            .map(ShareItServerTransport::toBytes)
+            .defaultIfEmpty(new byte[0])
+        : Mono.fromCallable(() -> readBody(response.getBody()));
+    return body.map(s -> ResponseEntity.status(response.getStatusCodeValue())
+        .headers(response.getHeaders())
+        .<Object>body(s));
+  }
+
+  static byte[] readBody(@Nullable Object body) throws IOException {
+    if (body == null) {
+      return new byte[0];
+    }
+    if (body instanceof byte[]) {
+      return (byte[]) body;
+    }
+    try (InputStream inputStream = ((Resource) body).getInputStream()) {
+      return inputStream.readAllBytes();
+    }
+  }
+
+  private static byte[] toBytes(DataBuffer buffer) {
+    try {
+      var bytes = new byte[buffer.readableByteCount()];
+      buffer.read(bytes);
+      return bytes;
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+  }
+}
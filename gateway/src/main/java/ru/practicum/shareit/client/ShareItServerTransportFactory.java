@@ -0,0 +1,6 @@
+package ru.practicum.shareit.client;
+
+public interface ShareItServerTransportFactory {
+
+  ShareItServerTransport create(String apiPrefix);
+}
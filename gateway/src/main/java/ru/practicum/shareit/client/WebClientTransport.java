@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+public class WebClientTransport implements ShareItServerTransport {
+
+  private final WebClient webClient;
+
+  public WebClientTransport(WebClient webClient) {
+    this.webClient = webClient;
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+      @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    return webClient.method(method)
+        .uri(path, parameters != null ? parameters : Map.of())
+        .headers(s -> s.addAll(headers))
+        .body(body != null ? BodyInserters.fromValue(body) : BodyInserters.empty())
+        .retrieve()
+        .onStatus(status -> true, response -> Mono.empty())
+        .toEntityFlux(DataBuffer.class)
+        .map(response -> ResponseEntity.status(response.getStatusCodeValue())
+            .headers(ShareItServerTransport.relayableHeaders(response.getHeaders()))
+            .<Object>body(response.getBody()));
+  }
+}
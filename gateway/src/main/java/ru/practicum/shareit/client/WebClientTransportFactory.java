@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "reactive")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class WebClientTransportFactory implements ShareItServerTransportFactory {
+
+  private final ShareItServerProperties properties;
+  private final RequestCoalescer coalescer;
+  private final WebClient.Builder builder;
+  private final ClientHttpConnector shareItServerConnector;
+
+  @Override
+  public ShareItServerTransport create(String apiPrefix) {
+    return coalescer.decorate(apiPrefix, new WebClientTransport(
+        builder.clone()
+            .baseUrl(properties.getUrl() + apiPrefix)
+            .clientConnector(shareItServerConnector)
+            .build()
+    ));
+  }
+}
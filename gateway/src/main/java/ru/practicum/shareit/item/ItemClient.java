@@ -1,14 +1,19 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.cache.ResourceRef;
+import ru.practicum.shareit.cache.ResourceType;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -18,36 +23,41 @@ public class ItemClient extends BaseClient {
   private static final String API_PREFIX = "/items";
 
   @Autowired
-  public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-    super(
-        builder
-            .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-            .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-            .build()
-    );
+  public ItemClient(ShareItServerTransportFactory transportFactory, GatewayResponseCache cache) {
+    super(transportFactory.create(API_PREFIX), cache);
   }
 
-  public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
-    return post("", userId, itemDto);
+  public Mono<ResponseEntity<Object>> createItem(long userId, ItemDto itemDto) {
+    if (itemDto.getRequestId() == null) {
+      return post("", userId, itemDto);
+    }
+    return invalidating(post("", userId, itemDto), new ResourceRef(ResourceType.REQUEST, itemDto.getRequestId()));
   }
 
-  public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
-    return patch("/" + itemId, userId, itemDto);
+  public Mono<ResponseEntity<Object>> importItems(long userId, MediaType contentType, Resource body) {
+    return invalidating(post("/bulk", userId, contentType, body), ResourceType.REQUEST);
   }
 
-  public ResponseEntity<Object> getItem(long userId, long itemId) {
-    return get("/" + itemId, userId);
+  public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemDto itemDto) {
+    return invalidating(patch("/" + itemId, userId, itemDto), cache -> {
+      cache.invalidate(new ResourceRef(ResourceType.ITEM, itemId));
+      cache.invalidateAll(ResourceType.REQUEST);
+    });
   }
 
-  public ResponseEntity<Object> getItems(long userId, Integer from, Integer size) {
-    Map<String, Object> parameters = Map.of(
-        "from", from != null ? from : 0,
-        "size", size != null ? size : Integer.MAX_VALUE
-    );
-    return get("?from={from}&size={size}", userId, parameters);
+  public Mono<ResponseEntity<Object>> getItem(long userId, long itemId, String ifNoneMatch) {
+    return getCached(ResourceType.ITEM, itemId, "/" + itemId, userId, ifNoneMatch);
   }
 
-  public ResponseEntity<Object> searchItem(String text, long userId, Integer from, Integer size) {
+  public Mono<ResponseEntity<Object>> getItems(long userId, Integer from, Integer size, String cursor) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    putIfPresent(parameters, "from", from);
+    putIfPresent(parameters, "size", size);
+    putIfPresent(parameters, "cursor", cursor);
+    return get(toQuery(parameters), userId, parameters);
+  }
+
+  public Mono<ResponseEntity<Object>> searchItem(String text, long userId, Integer from, Integer size) {
     Map<String, Object> parameters = Map.of(
         "text", text,
         "from", from != null ? from : 0,
@@ -56,7 +66,18 @@ public class ItemClient extends BaseClient {
     return get("/search?text={text}&from={from}&size={size}", userId, parameters);
   }
 
-  public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto comment) {
-    return post("/" + itemId + "/comment", userId, comment);
+  public Mono<ResponseEntity<Object>> findAvailableItems(long userId, LocalDateTime start, LocalDateTime end,
+      String text, Integer size, String cursor) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("start", start);
+    parameters.put("end", end);
+    putIfPresent(parameters, "text", text);
+    putIfPresent(parameters, "size", size);
+    putIfPresent(parameters, "cursor", cursor);
+    return get("/available" + toQuery(parameters), userId, parameters);
+  }
+
+  public Mono<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto comment) {
+    return invalidating(post("/" + itemId + "/comment", userId, comment), new ResourceRef(ResourceType.ITEM, itemId));
   }
 }
@@ -1,10 +1,17 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
 import java.util.Locale;
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -28,40 +36,60 @@ public class ItemController {
   private final ItemClient itemClient;
 
   @PostMapping
-  public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
+  public Mono<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
       @RequestBody ItemDto itemDto) {
     return itemClient.createItem(userId, itemDto);
   }
 
+  @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public Mono<ResponseEntity<Object>> importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+      @RequestBody InputStreamResource body) {
+    return itemClient.importItems(userId, contentType, body);
+  }
+
   @PatchMapping("/{itemId}")
-  public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
+  public Mono<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
       @PathVariable long itemId,
       @RequestBody ItemDto itemDto) {
     return itemClient.updateItem(userId, itemId, itemDto);
   }
 
   @GetMapping("/{itemId}")
-  public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long itemId) {
-    return itemClient.getItem(userId, itemId);
+  public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") long userId,
+      @PathVariable long itemId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return itemClient.getItem(userId, itemId, ifNoneMatch);
   }
 
   @GetMapping
-  public ResponseEntity<Object> getItems(@RequestHeader("X-Sharer-User-Id") long userId,
+  public Mono<ResponseEntity<Object>> getItems(@RequestHeader("X-Sharer-User-Id") long userId,
       @RequestParam(value = "from", required = false) @PositiveOrZero Integer from,
-      @RequestParam(value = "size", required = false) @PositiveOrZero Integer size) {
-    return itemClient.getItems(userId, from, size);
+      @RequestParam(value = "size", required = false) @PositiveOrZero Integer size,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+    return itemClient.getItems(userId, from, size, cursor);
   }
 
   @GetMapping("/search")
-  public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") long userId,
+  public Mono<ResponseEntity<Object>> searchItems(@RequestHeader("X-Sharer-User-Id") long userId,
       @RequestParam("text") String searchCriteria,
       @RequestParam(value = "from", required = false) @PositiveOrZero Integer from,
       @RequestParam(value = "size", required = false) @PositiveOrZero Integer size) {
     return itemClient.searchItem(searchCriteria.toLowerCase(Locale.ROOT), userId, from, size);
   }
 
+  @GetMapping("/available")
+  public Mono<ResponseEntity<Object>> findAvailableItems(@RequestHeader("X-Sharer-User-Id") long userId,
+      @RequestParam("start") @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime start,
+      @RequestParam("end") @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime end,
+      @RequestParam(value = "text", required = false) String text,
+      @RequestParam(value = "size", required = false) @Positive Integer size,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+    return itemClient.findAvailableItems(userId, start, end, text, size, cursor);
+  }
+
   @PostMapping("/{itemId}/comment")
-  public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
+  public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
       @PathVariable long itemId,
       @Valid @RequestBody CommentDto comment) {
     return itemClient.addComment(userId, itemId, comment);
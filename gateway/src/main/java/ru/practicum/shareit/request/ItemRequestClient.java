@@ -1,14 +1,15 @@
 package ru.practicum.shareit.request;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.cache.ResourceType;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @Service
@@ -17,32 +18,27 @@ public class ItemRequestClient extends BaseClient {
   private static final String API_PREFIX = "/requests";
 
   @Autowired
-  public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-    super(
-        builder
-            .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-            .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-            .build()
-    );
+  public ItemRequestClient(ShareItServerTransportFactory transportFactory, GatewayResponseCache cache) {
+    super(transportFactory.create(API_PREFIX), cache);
   }
 
-  public ResponseEntity<Object> createItemRequest(long userId, ItemRequestDto itemRequestDto) {
+  public Mono<ResponseEntity<Object>> createItemRequest(long userId, ItemRequestDto itemRequestDto) {
     return post("", userId, itemRequestDto);
   }
 
-  public ResponseEntity<Object> getUserItemRequests(long userId) {
+  public Mono<ResponseEntity<Object>> getUserItemRequests(long userId) {
     return get("/", userId);
   }
 
-  public ResponseEntity<Object> getItemRequests(long userId, Integer from, Integer size) {
-    Map<String, Object> parameters = Map.of(
-        "from", from != null ? from : 0,
-        "size", size != null ? size : Integer.MAX_VALUE
-    );
-    return get("/all?from={from}&size={size}", userId, parameters);
+  public Mono<ResponseEntity<Object>> getItemRequests(long userId, Integer from, Integer size, String cursor) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    putIfPresent(parameters, "from", from);
+    putIfPresent(parameters, "size", size);
+    putIfPresent(parameters, "cursor", cursor);
+    return get("/all" + toQuery(parameters), userId, parameters);
   }
 
-  public ResponseEntity<Object> getItemRequest(long userId, long requestId) {
-    return get("/" + requestId, userId);
+  public Mono<ResponseEntity<Object>> getItemRequest(long userId, long requestId, String ifNoneMatch) {
+    return getCached(ResourceType.REQUEST, requestId, "/" + requestId, userId, ifNoneMatch);
   }
 }
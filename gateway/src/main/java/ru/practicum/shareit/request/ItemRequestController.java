@@ -4,6 +4,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @RestController
@@ -25,26 +27,28 @@ public class ItemRequestController {
   private final ItemRequestClient itemRequestClient;
 
   @PostMapping
-  public ResponseEntity<Object> createItemRequest(@RequestHeader("X-Sharer-User-Id") long requesterId,
+  public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader("X-Sharer-User-Id") long requesterId,
       @RequestBody @Valid ItemRequestDto itemRequestDto) {
     return itemRequestClient.createItemRequest(requesterId, itemRequestDto);
   }
 
   @GetMapping
-  public ResponseEntity<Object> getUserItemRequests(@RequestHeader("X-Sharer-User-Id") long requesterId) {
+  public Mono<ResponseEntity<Object>> getUserItemRequests(@RequestHeader("X-Sharer-User-Id") long requesterId) {
     return itemRequestClient.getUserItemRequests(requesterId);
   }
 
   @GetMapping("/all")
-  public ResponseEntity<Object> getItemRequests(@RequestHeader("X-Sharer-User-Id") long requesterId,
+  public Mono<ResponseEntity<Object>> getItemRequests(@RequestHeader("X-Sharer-User-Id") long requesterId,
       @RequestParam(value = "from", required = false) @PositiveOrZero Integer from,
-      @RequestParam(value = "size", required = false) @PositiveOrZero Integer size) {
-    return itemRequestClient.getItemRequests(requesterId, from, size);
+      @RequestParam(value = "size", required = false) @PositiveOrZero Integer size,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+    return itemRequestClient.getItemRequests(requesterId, from, size, cursor);
   }
 
   @GetMapping("/{requestId}")
-  public ResponseEntity<Object> getItemRequestById(@RequestHeader("X-Sharer-User-Id") long requesterId,
-      @PathVariable long requestId) {
-    return itemRequestClient.getItemRequest(requesterId, requestId);
+  public Mono<ResponseEntity<Object>> getItemRequestById(@RequestHeader("X-Sharer-User-Id") long requesterId,
+      @PathVariable long requestId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return itemRequestClient.getItemRequest(requesterId, requestId, ifNoneMatch);
   }
 }
@@ -1,13 +1,14 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.cache.ResourceRef;
+import ru.practicum.shareit.cache.ResourceType;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
@@ -16,32 +17,27 @@ public class UserClient extends BaseClient {
   private static final String API_PREFIX = "/users";
 
   @Autowired
-  public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-    super(
-        builder
-            .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-            .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-            .build()
-    );
+  public UserClient(ShareItServerTransportFactory transportFactory, GatewayResponseCache cache) {
+    super(transportFactory.create(API_PREFIX), cache);
   }
 
-  public ResponseEntity<Object> createUser(UserDto userDto) {
+  public Mono<ResponseEntity<Object>> createUser(UserDto userDto) {
     return post("", userDto);
   }
 
-  public ResponseEntity<Object> updateUser(long userId, UserDto userDto) {
-    return patch("/" + userId, userId, userDto);
+  public Mono<ResponseEntity<Object>> updateUser(long userId, UserDto userDto) {
+    return invalidating(patch("/" + userId, userId, userDto), new ResourceRef(ResourceType.USER, userId));
   }
 
-  public ResponseEntity<Object> getUser(long userId) {
-    return get("/" + userId);
+  public Mono<ResponseEntity<Object>> getUser(long userId, String ifNoneMatch) {
+    return getCached(ResourceType.USER, userId, "/" + userId, null, ifNoneMatch);
   }
 
-  public ResponseEntity<Object> getUsers() {
+  public Mono<ResponseEntity<Object>> getUsers() {
     return get("/");
   }
 
-  public ResponseEntity<Object> deleteUser(long userId) {
-    return delete("/" + userId);
+  public Mono<ResponseEntity<Object>> deleteUser(long userId) {
+    return invalidating(delete("/" + userId), new ResourceRef(ResourceType.USER, userId));
   }
 }
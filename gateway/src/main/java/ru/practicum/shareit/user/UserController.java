@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,8 +11,10 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @RestController
@@ -22,27 +25,28 @@ public class UserController {
   private final UserClient userClient;
 
   @PostMapping
-  public ResponseEntity<Object> createUser(@RequestBody @Valid UserDto userDto) {
+  public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto userDto) {
     return userClient.createUser(userDto);
   }
 
   @PatchMapping("/{userId}")
-  public ResponseEntity<Object> updateUser(@PathVariable long userId, @RequestBody @Valid UserDto userDto) {
+  public Mono<ResponseEntity<Object>> updateUser(@PathVariable long userId, @RequestBody @Valid UserDto userDto) {
     return userClient.updateUser(userId, userDto);
   }
 
   @GetMapping("/{userId}")
-  public ResponseEntity<Object> getUser(@PathVariable long userId) {
-    return userClient.getUser(userId);
+  public Mono<ResponseEntity<Object>> getUser(@PathVariable long userId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return userClient.getUser(userId, ifNoneMatch);
   }
 
   @GetMapping
-  public ResponseEntity<Object> getUsers() {
+  public Mono<ResponseEntity<Object>> getUsers() {
     return userClient.getUsers();
   }
 
   @DeleteMapping("/{userId}")
-  public void deleteUser(@PathVariable long userId) {
-    userClient.deleteUser(userId);
+  public Mono<Void> deleteUser(@PathVariable long userId) {
+    return userClient.deleteUser(userId).then();
   }
 }
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.cache.GatewayCacheProperties;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.cache.ResourceRef;
+import ru.practicum.shareit.cache.ResourceType;
+
+class GatewayResponseCacheTests {
+
+  private static final ResourceRef ITEM = new ResourceRef(ResourceType.ITEM, 1L);
+
+  private GatewayResponseCache cache;
+
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cache = new GatewayResponseCache(new GatewayCacheProperties(), new SimpleMeterRegistry());
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void getCachedResponseTest() {
+    var first = cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.OK, "\"eTag\"")).block();
+    var second = cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.OK, "\"eTag\"")).block();
+    var notModified = cache.get(ITEM, "ITEM:/1:1", "\"eTag\"", loader(HttpStatus.OK, "\"eTag\"")).block();
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(loads.get())
+          .isEqualTo(1);
+      softAssertions.assertThat(new String((byte[]) second.getBody(), StandardCharsets.UTF_8))
+          .isEqualTo(new String((byte[]) first.getBody(), StandardCharsets.UTF_8));
+      softAssertions.assertThat(notModified.getStatusCode())
+          .isEqualTo(HttpStatus.NOT_MODIFIED);
+    });
+  }
+
+  @Test
+  void notCachedUnlessOkTest() {
+    cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.NOT_FOUND, null)).block();
+    cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.NOT_FOUND, null)).block();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(loads.get())
+            .isEqualTo(2));
+  }
+
+  @Test
+  void invalidateResourceTest() {
+    var otherItem = new ResourceRef(ResourceType.ITEM, 2L);
+    cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.OK, null)).block();
+    cache.get(ITEM, "ITEM:/1:2", null, loader(HttpStatus.OK, null)).block();
+    cache.get(otherItem, "ITEM:/2:1", null, loader(HttpStatus.OK, null)).block();
+
+    cache.invalidate(ITEM);
+    cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.OK, null)).block();
+    cache.get(ITEM, "ITEM:/1:2", null, loader(HttpStatus.OK, null)).block();
+    cache.get(otherItem, "ITEM:/2:1", null, loader(HttpStatus.OK, null)).block();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(loads.get())
+            .isEqualTo(5));
+  }
+
+  @Test
+  void invalidateResourceTypeTest() {
+    var request = new ResourceRef(ResourceType.REQUEST, 1L);
+    cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.OK, null)).block();
+    cache.get(request, "REQUEST:/1:1", null, loader(HttpStatus.OK, null)).block();
+
+    cache.invalidateAll(ResourceType.REQUEST);
+    cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.OK, null)).block();
+    cache.get(request, "REQUEST:/1:1", null, loader(HttpStatus.OK, null)).block();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(loads.get())
+            .isEqualTo(3));
+  }
+
+  @Test
+  void loadStartedBeforeInvalidationIsNotCachedTest() {
+    Sinks.One<ResponseEntity<Object>> staleResponse = Sinks.one();
+    var staleLoad = cache.get(ITEM, "ITEM:/1:1", null, () -> {
+      loads.incrementAndGet();
+      return staleResponse.asMono();
+    }).toFuture();
+
+    cache.invalidate(ITEM);
+    staleResponse.tryEmitValue(ResponseEntity.ok().body("stale".getBytes(StandardCharsets.UTF_8)));
+    var stale = staleLoad.join();
+    var fresh = cache.get(ITEM, "ITEM:/1:1", null, loader(HttpStatus.OK, null)).block();
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(new String((byte[]) stale.getBody(), StandardCharsets.UTF_8))
+          .isEqualTo("stale");
+      softAssertions.assertThat(new String((byte[]) fresh.getBody(), StandardCharsets.UTF_8))
+          .isEqualTo("response-2");
+    });
+  }
+
+  private Supplier<Mono<ResponseEntity<Object>>> loader(HttpStatus status, String eTag) {
+    return () -> Mono.fromSupplier(() -> {
+      var body = ("response-" + loads.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+      var builder = ResponseEntity.status(status);
+      if (eTag != null) {
+        builder.eTag(eTag);
+      }
+      return builder.body(body);
+    });
+  }
+}
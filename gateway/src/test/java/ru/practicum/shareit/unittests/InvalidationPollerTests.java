@@ -0,0 +1,119 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.GatewayCacheProperties;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.cache.InvalidationPoller;
+import ru.practicum.shareit.cache.ResourceRef;
+import ru.practicum.shareit.cache.ResourceType;
+import ru.practicum.shareit.client.ShareItServerProperties;
+
+class InvalidationPollerTests {
+
+  private static final ResourceRef ITEM = new ResourceRef(ResourceType.ITEM, 1L);
+  private static final ResourceRef USER = new ResourceRef(ResourceType.USER, 1L);
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private GatewayResponseCache cache;
+
+  private AtomicInteger loads;
+
+  private List<Map<String, Object>> requests;
+
+  private List<Mono<ResponseEntity<Object>>> responses;
+
+  private InvalidationPoller poller;
+
+  @BeforeEach
+  void setUp() {
+    cache = new GatewayResponseCache(new GatewayCacheProperties(), new SimpleMeterRegistry());
+    loads = new AtomicInteger();
+    requests = new ArrayList<>();
+    responses = new ArrayList<>();
+    poller = new InvalidationPoller(prefix -> (method, path, headers, parameters, body) -> {
+      requests.add(parameters);
+      return responses.remove(0);
+    }, cache, mapper, new ShareItServerProperties());
+  }
+
+  @Test
+  void pollInvalidatesChangedResourcesTest() {
+    responses.add(batch("{\"epoch\":\"e1\",\"sequence\":3,\"reset\":false,\"events\":[]}"));
+    responses.add(batch("{\"epoch\":\"e1\",\"sequence\":4,\"reset\":false,"
+        + "\"events\":[{\"sequence\":4,\"type\":\"ITEM\",\"id\":1}]}"));
+    poller.poll();
+    load(ITEM);
+    load(USER);
+
+    poller.poll();
+    load(ITEM);
+    load(USER);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(loads.get())
+          .isEqualTo(3);
+      softAssertions.assertThat(requests.get(1))
+          .containsEntry("epoch", "e1")
+          .containsEntry("after", 3L);
+    });
+  }
+
+  @Test
+  void pollResetDropsAllResponsesTest() {
+    load(ITEM);
+    load(USER);
+    responses.add(batch("{\"epoch\":\"e2\",\"sequence\":0,\"reset\":true,\"events\":[]}"));
+
+    poller.poll();
+    load(ITEM);
+    load(USER);
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(loads.get())
+            .isEqualTo(4));
+  }
+
+  @Test
+  void pollFailureDropsAllResponsesTest() {
+    responses.add(batch("{\"epoch\":\"e1\",\"sequence\":3,\"reset\":false,\"events\":[]}"));
+    responses.add(Mono.error(new IllegalStateException("server is down")));
+    responses.add(batch("{\"epoch\":\"e1\",\"sequence\":3,\"reset\":false,\"events\":[]}"));
+    poller.poll();
+    load(ITEM);
+
+    poller.poll();
+    load(ITEM);
+    poller.poll();
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(loads.get())
+          .isEqualTo(2);
+      softAssertions.assertThat(requests.get(2))
+          .containsEntry("epoch", "")
+          .containsEntry("after", 0L);
+    });
+  }
+
+  private void load(ResourceRef resource) {
+    cache.get(resource, resource.getType() + ":/" + resource.getId(), null,
+        () -> Mono.fromSupplier(() -> ResponseEntity.ok()
+            .body(("response-" + loads.incrementAndGet()).getBytes(StandardCharsets.UTF_8)))).block();
+  }
+
+  private static Mono<ResponseEntity<Object>> batch(String json) {
+    return Mono.just(ResponseEntity.ok().body(json.getBytes(StandardCharsets.UTF_8)));
+  }
+}
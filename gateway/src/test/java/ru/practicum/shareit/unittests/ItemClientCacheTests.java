@@ -0,0 +1,82 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.cache.GatewayCacheProperties;
+import ru.practicum.shareit.cache.GatewayResponseCache;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+class ItemClientCacheTests {
+
+  private AtomicInteger itemLoads;
+
+  private HttpStatus writeStatus;
+
+  private ItemClient itemClient;
+
+  @BeforeEach
+  void setUp() {
+    itemLoads = new AtomicInteger();
+    writeStatus = HttpStatus.OK;
+    var cache = new GatewayResponseCache(new GatewayCacheProperties(), new SimpleMeterRegistry());
+    itemClient = new ItemClient(prefix -> (method, path, headers, parameters, body) -> {
+      if (method == HttpMethod.GET) {
+        var item = "item-" + itemLoads.incrementAndGet();
+        return Mono.just(ResponseEntity.ok().body(item.getBytes(StandardCharsets.UTF_8)));
+      }
+      return Mono.just(ResponseEntity.status(writeStatus).build());
+    }, cache);
+  }
+
+  @Test
+  void addCommentInvalidatesItemTest() {
+    itemClient.getItem(1L, 2L, null).block();
+    itemClient.getItem(1L, 2L, null).block();
+
+    itemClient.addComment(1L, 2L, CommentDto.builder().text("Comment").build()).block();
+    var item = itemClient.getItem(1L, 2L, null).block();
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(itemLoads.get())
+          .isEqualTo(2);
+      softAssertions.assertThat(new String((byte[]) item.getBody(), StandardCharsets.UTF_8))
+          .isEqualTo("item-2");
+    });
+  }
+
+  @Test
+  void updateItemInvalidatesItemTest() {
+    itemClient.getItem(1L, 2L, null).block();
+
+    itemClient.updateItem(1L, 2L, ItemDto.builder().name("Item").build()).block();
+    itemClient.getItem(1L, 2L, null).block();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(itemLoads.get())
+            .isEqualTo(2));
+  }
+
+  @Test
+  void failedWriteKeepsCachedItemTest() {
+    writeStatus = HttpStatus.BAD_REQUEST;
+    itemClient.getItem(1L, 2L, null).block();
+
+    itemClient.addComment(1L, 2L, CommentDto.builder().text("Comment").build()).block();
+    itemClient.getItem(1L, 2L, null).block();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(itemLoads.get())
+            .isEqualTo(1));
+  }
+}
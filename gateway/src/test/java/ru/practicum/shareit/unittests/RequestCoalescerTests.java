@@ -0,0 +1,154 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.client.CoalescingProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ShareItServerTransport;
+
+class RequestCoalescerTests {
+
+  private AtomicInteger calls;
+
+  private Sinks.One<ResponseEntity<Object>> response;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private ShareItServerTransport delegate;
+
+  private ShareItServerTransport transport;
+
+  @BeforeEach
+  void setUp() {
+    var properties = new CoalescingProperties();
+    properties.setEndpoints(List.of("/items/*"));
+    calls = new AtomicInteger();
+    response = Sinks.one();
+    meterRegistry = new SimpleMeterRegistry();
+    delegate = (method, path, headers, parameters, body) -> {
+      calls.incrementAndGet();
+      return response.asMono();
+    };
+    transport = new RequestCoalescer(properties, meterRegistry).decorate("/items", delegate);
+  }
+
+  @Test
+  void concurrentGetsShareOneCallTest() {
+    var first = transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).toFuture();
+    var second = transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).toFuture();
+    response.tryEmitValue(ResponseEntity.ok().body("item".getBytes(StandardCharsets.UTF_8)));
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(calls.get())
+          .isEqualTo(1);
+      softAssertions.assertThat((byte[]) first.join().getBody())
+          .isEqualTo((byte[]) second.join().getBody());
+    });
+  }
+
+  @Test
+  void sequentialGetsAreNotCoalescedTest() {
+    response.tryEmitValue(ResponseEntity.ok().body("item".getBytes(StandardCharsets.UTF_8)));
+
+    transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).block();
+    transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).block();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(calls.get())
+            .isEqualTo(2));
+  }
+
+  @Test
+  void writesAndUnmatchedPathsAreNotCoalescedTest() {
+    transport.exchange(HttpMethod.POST, "/1/comment", new HttpHeaders(), null, "comment").subscribe();
+    transport.exchange(HttpMethod.POST, "/1/comment", new HttpHeaders(), null, "comment").subscribe();
+    transport.exchange(HttpMethod.GET, "/search", new HttpHeaders(), null, null).subscribe();
+    transport.exchange(HttpMethod.GET, "/search", new HttpHeaders(), null, null).subscribe();
+    transport.exchange(HttpMethod.GET, "", new HttpHeaders(), null, null).subscribe();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(calls.get())
+            .isEqualTo(4));
+  }
+
+  @Test
+  void getsOfDifferentUsersAreNotCoalescedTest() {
+    transport.exchange(HttpMethod.GET, "/1", userHeaders(1L), null, null).subscribe();
+    transport.exchange(HttpMethod.GET, "/1", userHeaders(2L), null, null).subscribe();
+    transport.exchange(HttpMethod.GET, "/1", userHeaders(1L), null, null).subscribe();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(calls.get())
+            .isEqualTo(2));
+  }
+
+  @Test
+  void errorReachesAllCoalescedGetsTest() {
+    var first = transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).toFuture();
+    var second = transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).toFuture();
+    response.tryEmitError(new IllegalStateException("server is down"));
+    transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).subscribe(s -> { }, e -> { });
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(first)
+          .isCompletedExceptionally();
+      softAssertions.assertThat(second)
+          .isCompletedExceptionally();
+      softAssertions.assertThat(calls.get())
+          .isEqualTo(2);
+    });
+  }
+
+  @Test
+  void coalescedGetsAreCountedByRoleTest() {
+    transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).subscribe();
+    transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).subscribe();
+    transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).subscribe();
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(coalescedRequests("leader"))
+          .isEqualTo(1.0);
+      softAssertions.assertThat(coalescedRequests("follower"))
+          .isEqualTo(2.0);
+      softAssertions.assertThat(meterRegistry.get("gateway.coalescing.in-flight").gauge().value())
+          .isEqualTo(1.0);
+    });
+  }
+
+  @Test
+  void disabledCoalescingKeepsTransportTest() {
+    var properties = new CoalescingProperties();
+    properties.setEnabled(false);
+    properties.setEndpoints(List.of("/items/*"));
+
+    var decorated = new RequestCoalescer(properties, meterRegistry).decorate("/items", delegate);
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(decorated)
+            .isSameAs(delegate));
+  }
+
+  private double coalescedRequests(String role) {
+    return meterRegistry.get("gateway.coalescing.requests")
+        .tag("endpoint", "/items/*")
+        .tag("role", role)
+        .counter()
+        .count();
+  }
+
+  private static HttpHeaders userHeaders(long userId) {
+    var headers = new HttpHeaders();
+    headers.set("X-Sharer-User-Id", String.valueOf(userId));
+    return headers;
+  }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.client.DataBufferPublisherReturnValueHandler;
+import ru.practicum.shareit.client.ShareItServerTransport;
+import ru.practicum.shareit.client.WebClientTransport;
+
+class WebClientTransportTests {
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int CHUNKS = 32;
+
+  private HttpStatus status;
+
+  private WebClientTransport transport;
+
+  private DataBufferPublisherReturnValueHandler handler;
+
+  private MethodParameter returnType;
+
+  private MockHttpServletRequest servletRequest;
+
+  private MockHttpServletResponse servletResponse;
+
+  private ServletWebRequest webRequest;
+
+  @BeforeEach
+  void setUp() throws NoSuchMethodException {
+    status = HttpStatus.OK;
+    var webClient = WebClient.builder()
+        .exchangeFunction(request -> Mono.just(ClientResponse.create(status)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(chunks())
+            .build()))
+        .build();
+    transport = new WebClientTransport(webClient);
+
+    List<HttpMessageConverter<?>> converters = List.of(new ByteArrayHttpMessageConverter());
+    handler = new DataBufferPublisherReturnValueHandler(new HttpEntityMethodProcessor(converters),
+        new ResponseBodyEmitterReturnValueHandler(converters));
+    returnType = new MethodParameter(WebClientTransportTests.class.getDeclaredMethod("relay"), -1);
+    servletRequest = new MockHttpServletRequest();
+    servletRequest.setAsyncSupported(true);
+    servletResponse = new MockHttpServletResponse();
+    WebAsyncUtils.getAsyncManager(servletRequest)
+        .setAsyncWebRequest(new StandardServletAsyncWebRequest(servletRequest, servletResponse));
+    webRequest = new ServletWebRequest(servletRequest, servletResponse);
+  }
+
+  @Test
+  void relayLargeResponseTest() throws Exception {
+    var response = transport.exchange(HttpMethod.GET, "/bookings", new HttpHeaders(), null, null).block();
+    handler.handleReturnValue(response, returnType, new ModelAndViewContainer(), webRequest);
+    var dispatched = awaitDispatch();
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(dispatched)
+          .isTrue();
+      softAssertions.assertThat(servletResponse.getStatus())
+          .isEqualTo(HttpStatus.OK.value());
+      softAssertions.assertThat(servletResponse.getContentType())
+          .isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+      softAssertions.assertThat(servletResponse.getContentAsByteArray())
+          .hasSize(CHUNK_SIZE * CHUNKS);
+    });
+  }
+
+  @Test
+  void relayPendingResponseWithoutBlockingTest() throws Exception {
+    Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+    var response = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .<Object>body(body.asFlux());
+
+    assertTimeoutPreemptively(Duration.ofSeconds(5),
+        () -> handler.handleReturnValue(response, returnType, new ModelAndViewContainer(), webRequest));
+    var asyncStarted = servletRequest.isAsyncStarted();
+    var pendingContent = servletResponse.getContentAsByteArray();
+
+    body.tryEmitNext(DefaultDataBufferFactory.sharedInstance.wrap("[]".getBytes(StandardCharsets.UTF_8)));
+    body.tryEmitComplete();
+    var dispatched = awaitDispatch();
+    var content = servletResponse.getContentAsString();
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(asyncStarted)
+          .isTrue();
+      softAssertions.assertThat(pendingContent)
+          .isEmpty();
+      softAssertions.assertThat(dispatched)
+          .isTrue();
+      softAssertions.assertThat(content)
+          .isEqualTo("[]");
+    });
+  }
+
+  @Test
+  void relayBufferedResponseTest() throws Exception {
+    var response = transport.exchange(HttpMethod.GET, "/bookings", new HttpHeaders(), null, null)
+        .flatMap(ShareItServerTransport::buffered)
+        .block();
+    handler.handleReturnValue(response, returnType, new ModelAndViewContainer(), webRequest);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(servletRequest.isAsyncStarted())
+          .isFalse();
+      softAssertions.assertThat(servletResponse.getContentAsByteArray())
+          .hasSize(CHUNK_SIZE * CHUNKS);
+    });
+  }
+
+  @Test
+  void bufferLargeResponseTest() {
+    var response = transport.exchange(HttpMethod.GET, "/bookings", new HttpHeaders(), null, null)
+        .flatMap(ShareItServerTransport::buffered)
+        .block();
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat((byte[]) response.getBody())
+            .hasSize(CHUNK_SIZE * CHUNKS));
+  }
+
+  @Test
+  void relayErrorResponseTest() {
+    status = HttpStatus.NOT_FOUND;
+
+    var response = transport.exchange(HttpMethod.GET, "/bookings/1", new HttpHeaders(), null, null)
+        .flatMap(ShareItServerTransport::buffered)
+        .block();
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(response.getStatusCode())
+          .isEqualTo(HttpStatus.NOT_FOUND);
+      softAssertions.assertThat(response.getHeaders().getContentType())
+          .isEqualTo(MediaType.APPLICATION_JSON);
+    });
+  }
+
+  private static Flux<DataBuffer> chunks() {
+    var chunk = new byte[CHUNK_SIZE];
+    Arrays.fill(chunk, (byte) 'a');
+    return Flux.range(0, CHUNKS)
+        .map(s -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.clone()));
+  }
+
+  private boolean awaitDispatch() throws InterruptedException {
+    var dispatched = new CountDownLatch(1);
+    ((MockAsyncContext) servletRequest.getAsyncContext()).addDispatchHandler(dispatched::countDown);
+    return dispatched.await(5, TimeUnit.SECONDS);
+  }
+
+  private static ResponseEntity<Object> relay() {
+    return ResponseEntity.ok().build();
+  }
+}
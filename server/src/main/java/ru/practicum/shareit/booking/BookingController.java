@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,10 +13,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
+import ru.practicum.shareit.booking.export.BookingExportStream;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
 import ru.practicum.shareit.booking.model.BookingFilter;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.JsonArrayStream;
+import ru.practicum.shareit.pagination.PageCursor;
 
 @RequiredArgsConstructor
 @RestController
@@ -22,6 +29,7 @@ import ru.practicum.shareit.booking.service.BookingService;
 public class BookingController {
 
   private final BookingService bookingService;
+  private final ObjectMapper mapper;
 
   @PostMapping
   public BookingCreateResponseDto bookItem(@RequestHeader("X-Sharer-User-Id") long bookerId,
@@ -43,18 +51,46 @@ public class BookingController {
   }
 
   @GetMapping
-  public List<BookingCreateResponseDto> getAllBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
+  public ResponseEntity<List<BookingCreateResponseDto>> getAllBookingInfo(
+      @RequestHeader("X-Sharer-User-Id") long userId,
       @RequestParam(required = false, defaultValue = "ALL") BookingFilter state,
       @RequestParam(value = "from", required = false) Integer from,
-      @RequestParam(value = "size", required = false) Integer size) {
-    return bookingService.getAllBookingInfo(userId, state, from, size);
+      @RequestParam(value = "size", required = false) Integer size,
+      @RequestParam(value = "cursor", required = false) PageCursor cursor) {
+    return PageCursor.toResponse(bookingService.getAllBookingInfo(userId, state, from, size, cursor), size,
+        s -> new PageCursor(s.getEndDateTime(), s.getId()));
   }
 
   @GetMapping("/owner")
-  public List<BookingCreateResponseDto> getAllOwnerBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
+  public ResponseEntity<List<BookingCreateResponseDto>> getAllOwnerBookingInfo(
+      @RequestHeader("X-Sharer-User-Id") long userId,
       @RequestParam(required = false, defaultValue = "ALL") BookingFilter state,
       @RequestParam(value = "from", required = false) Integer from,
-      @RequestParam(value = "size", required = false) Integer size) {
-    return bookingService.getAllOwnerBookingInfo(userId, state, from, size);
+      @RequestParam(value = "size", required = false) Integer size,
+      @RequestParam(value = "cursor", required = false) PageCursor cursor) {
+    return PageCursor.toResponse(bookingService.getAllOwnerBookingInfo(userId, state, from, size, cursor), size,
+        s -> new PageCursor(s.getEndDateTime(), s.getId()));
+  }
+
+  @GetMapping(params = {"!from", "!size", "!cursor"})
+  public ResponseEntity<StreamingResponseBody> streamAllBookingInfo(@RequestHeader("X-Sharer-User-Id") long userId,
+      @RequestParam(required = false, defaultValue = "ALL") BookingFilter state) {
+    return JsonArrayStream.toResponse(mapper, action -> bookingService.streamAllBookingInfo(userId, state, action));
+  }
+
+  @GetMapping(value = "/owner", params = {"!from", "!size", "!cursor"})
+  public ResponseEntity<StreamingResponseBody> streamAllOwnerBookingInfo(
+      @RequestHeader("X-Sharer-User-Id") long userId,
+      @RequestParam(required = false, defaultValue = "ALL") BookingFilter state) {
+    return JsonArrayStream.toResponse(mapper,
+        action -> bookingService.streamAllOwnerBookingInfo(userId, state, action));
+  }
+
+  @GetMapping("/owner/export")
+  public ResponseEntity<StreamingResponseBody> exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+      @RequestParam(required = false, defaultValue = "ALL") BookingFilter state,
+      @RequestParam("format") BookingExportFormat format) {
+    return BookingExportStream.toResponse(mapper, format,
+        action -> bookingService.streamAllOwnerBookingInfo(userId, state, action));
   }
 }
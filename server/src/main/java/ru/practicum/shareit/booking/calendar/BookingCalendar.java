@@ -0,0 +1,186 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+public final class BookingCalendar {
+
+  private static final int HEADER_BYTES = 96;
+  private static final int ENTRY_BYTES = 5 * Long.BYTES + 1;
+  private static final byte NO_STATUS = -1;
+  private static final BookingStatus[] STATUSES = BookingStatus.values();
+  private static final long MICROS_PER_SECOND = 1_000_000L;
+  private static final int NANOS_PER_MICRO = 1_000;
+
+  private final long[] ids;
+  private final long[] bookerIds;
+  private final long[] starts;
+  private final long[] ends;
+  private final long[] maxEnds;
+  private final byte[] statuses;
+
+  private BookingCalendar(int size) {
+    ids = new long[size];
+    bookerIds = new long[size];
+    starts = new long[size];
+    ends = new long[size];
+    maxEnds = new long[size];
+    statuses = new byte[size];
+  }
+
+  public static BookingCalendar of(Collection<BookingPeriod> periods) {
+    var sorted = periods.stream()
+        .sorted(Comparator.comparing(BookingPeriod::getStartDateTime).thenComparing(BookingPeriod::getId))
+        .toArray(BookingPeriod[]::new);
+    var calendar = new BookingCalendar(sorted.length);
+    for (var i = 0; i < sorted.length; i++) {
+      calendar.set(i, sorted[i]);
+    }
+    calendar.computeMaxEnds();
+    return calendar;
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  public int weight() {
+    return HEADER_BYTES + ids.length * ENTRY_BYTES;
+  }
+
+  public BookingCalendar with(BookingPeriod period) {
+    var existing = indexOf(period.getId());
+    var size = existing < 0 ? ids.length + 1 : ids.length;
+    var calendar = new BookingCalendar(size);
+    var start = toMicros(period.getStartDateTime());
+    var inserted = false;
+    var target = 0;
+    for (var i = 0; i < ids.length; i++) {
+      if (i == existing) {
+        continue;
+      }
+      if (!inserted && (starts[i] > start || starts[i] == start && ids[i] > period.getId())) {
+        calendar.set(target++, period);
+        inserted = true;
+      }
+      calendar.copy(target++, this, i);
+    }
+    if (!inserted) {
+      calendar.set(target, period);
+    }
+    calendar.computeMaxEnds();
+    return calendar;
+  }
+
+  public boolean hasOverlap(Collection<BookingStatus> statusFilter, LocalDateTime start, LocalDateTime end) {
+    var from = toMicros(start);
+    var to = toMicros(end);
+    for (var i = countStartingBefore(to) - 1; i >= 0 && maxEnds[i] > from; i--) {
+      if (ends[i] > from && statusFilter.contains(statusAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public ItemBookingSummary toSummary(long itemId, LocalDateTime dateTime) {
+    var now = toMicros(dateTime);
+    var last = -1;
+    var next = -1;
+    var approvedCount = 0L;
+    var nearestEnd = Long.MAX_VALUE;
+    for (var i = 0; i < ids.length; i++) {
+      if (ends[i] < now && (last < 0 || ends[i] > ends[last] || ends[i] == ends[last] && ids[i] > ids[last])) {
+        last = i;
+      }
+      if (starts[i] > now && (next < 0 || ends[i] < ends[next] || ends[i] == ends[next] && ids[i] < ids[next])) {
+        next = i;
+      }
+      if (statusAt(i) == BookingStatus.APPROVED) {
+        approvedCount++;
+      }
+      if (ends[i] > now && ends[i] < nearestEnd) {
+        nearestEnd = ends[i];
+      }
+    }
+
+    var summary = new ItemBookingSummary(itemId);
+    if (last >= 0) {
+      summary.setLastBookingId(ids[last]);
+      summary.setLastBookerId(bookerIds[last]);
+      summary.setLastStartDateTime(toDateTime(starts[last]));
+      summary.setLastEndDateTime(toDateTime(ends[last]));
+    }
+    if (next >= 0) {
+      summary.setNextBookingId(ids[next]);
+      summary.setNextBookerId(bookerIds[next]);
+      summary.setNextStartDateTime(toDateTime(starts[next]));
+      summary.setNextEndDateTime(toDateTime(ends[next]));
+    }
+    summary.setApprovedCount(approvedCount);
+    var refreshAt = Math.min(next >= 0 ? starts[next] : Long.MAX_VALUE, nearestEnd);
+    summary.setRefreshAt(refreshAt != Long.MAX_VALUE ? toDateTime(refreshAt) : null);
+    return summary;
+  }
+
+  private void set(int index, BookingPeriod period) {
+    ids[index] = period.getId();
+    bookerIds[index] = period.getBookerId();
+    starts[index] = toMicros(period.getStartDateTime());
+    ends[index] = toMicros(period.getEndDateTime());
+    statuses[index] = period.getStatus() != null ? (byte) period.getStatus().ordinal() : NO_STATUS;
+  }
+
+  private void copy(int index, BookingCalendar source, int sourceIndex) {
+    ids[index] = source.ids[sourceIndex];
+    bookerIds[index] = source.bookerIds[sourceIndex];
+    starts[index] = source.starts[sourceIndex];
+    ends[index] = source.ends[sourceIndex];
+    statuses[index] = source.statuses[sourceIndex];
+  }
+
+  private void computeMaxEnds() {
+    for (var i = 0; i < ends.length; i++) {
+      maxEnds[i] = i > 0 ? Math.max(maxEnds[i - 1], ends[i]) : ends[i];
+    }
+  }
+
+  private int indexOf(long id) {
+    for (var i = 0; i < ids.length; i++) {
+      if (ids[i] == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int countStartingBefore(long value) {
+    var index = Arrays.binarySearch(starts, value);
+    if (index < 0) {
+      return -index - 1;
+    }
+    while (index > 0 && starts[index - 1] == value) {
+      index--;
+    }
+    return index;
+  }
+
+  private BookingStatus statusAt(int index) {
+    return statuses[index] != NO_STATUS ? STATUSES[statuses[index]] : null;
+  }
+
+  private static long toMicros(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / NANOS_PER_MICRO;
+  }
+
+  private static LocalDateTime toDateTime(long micros) {
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+        (int) Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking.calendar;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+@Component
+public class BookingCalendarCache {
+
+  private static final String CACHE_NAME = "booking.calendars";
+
+  private final boolean enabled;
+  private final BookingRepository bookingRepository;
+  private final Cache<Long, BookingCalendar> calendars;
+  private final AtomicLong version = new AtomicLong();
+
+  @Autowired
+  public BookingCalendarCache(BookingRepository bookingRepository, MeterRegistry meterRegistry,
+      @Value("${shareit.booking-calendar.enabled}") boolean enabled,
+      @Value("${shareit.booking-calendar.max-weight-bytes}") long maxWeightBytes,
+      @Value("${shareit.booking-calendar.ttl-seconds}") long ttlSeconds) {
+    this.enabled = enabled;
+    this.bookingRepository = bookingRepository;
+    this.calendars = Caffeine.newBuilder()
+        .maximumWeight(maxWeightBytes)
+        .weigher((Long itemId, BookingCalendar calendar) -> calendar.weight())
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, calendars, CACHE_NAME);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean hasOverlap(long itemId, Collection<BookingStatus> statuses, LocalDateTime start,
+      LocalDateTime end) {
+    return getCalendars(List.of(itemId)).get(itemId).hasOverlap(statuses, start, end);
+  }
+
+  public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds, LocalDateTime dateTime) {
+    return getCalendars(itemIds).entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, s -> s.getValue().toSummary(s.getKey(), dateTime)));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBookingChanged(BookingChangedEvent event) {
+    var period = event.getPeriod();
+    version.incrementAndGet();
+    calendars.asMap().computeIfPresent(period.getItemId(), (itemId, calendar) -> calendar.with(period));
+  }
+
+  private Map<Long, BookingCalendar> getCalendars(Collection<Long> itemIds) {
+    var found = new HashMap<>(calendars.getAllPresent(itemIds));
+    var missing = itemIds.stream()
+        .filter(s -> !found.containsKey(s))
+        .distinct()
+        .collect(Collectors.toList());
+    if (missing.isEmpty()) {
+      return found;
+    }
+
+    var loadVersion = version.get();
+    var loaded = loadCalendars(missing);
+    found.putAll(loaded);
+    if (version.get() == loadVersion) {
+      calendars.putAll(loaded);
+      if (version.get() != loadVersion) {
+        calendars.invalidateAll(loaded.keySet());
+      }
+    }
+    return found;
+  }
+
+  private Map<Long, BookingCalendar> loadCalendars(Collection<Long> itemIds) {
+    var periods = bookingRepository.findPeriodsByItemIds(itemIds).stream()
+        .collect(Collectors.groupingBy(BookingPeriod::getItemId));
+    var loaded = new HashMap<Long, BookingCalendar>();
+    for (var itemId : itemIds) {
+      loaded.put(itemId, BookingCalendar.of(periods.getOrDefault(itemId, List.of())));
+    }
+    return loaded;
+  }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingChangedEvent {
+
+  private final BookingPeriod period;
+}
@@ -2,8 +2,11 @@ package ru.practicum.shareit.booking.dto;
 
 import lombok.NonNull;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
 import ru.practicum.shareit.booking.model.BookingShortInfo;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -34,6 +37,39 @@ public class BookingMapper {
         .build();
   }
 
+  public static BookingCreateResponseDto toBookingCreateResponseDto(@NonNull BookingView view) {
+    return BookingCreateResponseDto.builder()
+        .id(view.getId())
+        .booker(view.getBookerId() != null
+            ? User.builder()
+            .id(view.getBookerId())
+            .name(view.getBookerName())
+            .email(view.getBookerEmail())
+            .version(view.getBookerVersion())
+            .build()
+            : null)
+        .item(view.getItemId() != null
+            ? Item.builder()
+            .id(view.getItemId())
+            .name(view.getItemName())
+            .description(view.getItemDescription())
+            .isAvailable(view.getItemIsAvailable())
+            .ownerId(view.getItemOwnerId())
+            .requestId(view.getItemRequestId())
+            .version(view.getItemVersion())
+            .build()
+            : null)
+        .startDateTime(view.getStartDateTime())
+        .endDateTime(view.getEndDateTime())
+        .status(view.getStatus())
+        .build();
+  }
+
+  public static BookingPeriod toBookingPeriod(@NonNull Booking booking) {
+    return new BookingPeriod(booking.getItem().getId(), booking.getId(), booking.getBooker().getId(),
+        booking.getStartDateTime(), booking.getEndDateTime(), booking.getStatus());
+  }
+
   public static BookingShortInfo toBookingShortInfo(Booking booking) {
     return booking != null
         ? BookingShortInfo.builder()
@@ -44,4 +80,26 @@ public class BookingMapper {
         .build()
         : null;
   }
+
+  public static BookingShortInfo toLastBookingShortInfo(ItemBookingSummary summary) {
+    return summary != null && summary.getLastBookingId() != null
+        ? BookingShortInfo.builder()
+        .id(summary.getLastBookingId())
+        .bookerId(summary.getLastBookerId())
+        .startDateTime(summary.getLastStartDateTime())
+        .endDateTime(summary.getLastEndDateTime())
+        .build()
+        : null;
+  }
+
+  public static BookingShortInfo toNextBookingShortInfo(ItemBookingSummary summary) {
+    return summary != null && summary.getNextBookingId() != null
+        ? BookingShortInfo.builder()
+        .id(summary.getNextBookingId())
+        .bookerId(summary.getNextBookerId())
+        .startDateTime(summary.getNextStartDateTime())
+        .endDateTime(summary.getNextEndDateTime())
+        .build()
+        : null;
+  }
 }
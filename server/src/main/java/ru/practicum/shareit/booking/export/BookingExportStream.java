@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.pagination.JsonArrayStream;
+
+public class BookingExportStream {
+
+  private static final String CSV_HEADER =
+      "id,start,end,status,item_id,item_name,booker_id,booker_name,booker_email\n";
+
+  public static ResponseEntity<StreamingResponseBody> toResponse(ObjectMapper mapper, BookingExportFormat format,
+      Consumer<Consumer<BookingCreateResponseDto>> producer) {
+    JsonArrayStream.disableETag();
+    StreamingResponseBody body = outputStream -> {
+      if (format == BookingExportFormat.CSV) {
+        writeCsv(outputStream, producer);
+      } else {
+        writeNdjson(mapper, outputStream, producer);
+      }
+    };
+    var disposition = ContentDisposition.attachment()
+        .filename("bookings." + format.getFileExtension())
+        .build();
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+        .body(body);
+  }
+
+  private static void writeNdjson(ObjectMapper mapper, OutputStream outputStream,
+      Consumer<Consumer<BookingCreateResponseDto>> producer) throws IOException {
+    var generator = mapper.createGenerator(outputStream);
+    generator.setRootValueSeparator(null);
+    producer.accept(booking -> {
+      try {
+        generator.writeObject(booking);
+        generator.writeRaw('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    generator.close();
+  }
+
+  private static void writeCsv(OutputStream outputStream, Consumer<Consumer<BookingCreateResponseDto>> producer)
+      throws IOException {
+    var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    producer.accept(booking -> {
+      try {
+        writeCsvRow(writer, booking);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    writer.flush();
+  }
+
+  private static void writeCsvRow(Writer writer, BookingCreateResponseDto booking) throws IOException {
+    var item = booking.getItem();
+    var booker = booking.getBooker();
+    writer.write(String.join(",",
+        toCsvValue(booking.getId()),
+        toCsvValue(booking.getStartDateTime()),
+        toCsvValue(booking.getEndDateTime()),
+        toCsvValue(booking.getStatus()),
+        toCsvValue(item != null ? item.getId() : null),
+        toCsvValue(item != null ? item.getName() : null),
+        toCsvValue(booker != null ? booker.getId() : null),
+        toCsvValue(booker != null ? booker.getName() : null),
+        toCsvValue(booker != null ? booker.getEmail() : null)));
+    writer.write('\n');
+  }
+
+  private static String toCsvValue(Object value) {
+    if (value == null) {
+      return "";
+    }
+    var text = String.valueOf(value);
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
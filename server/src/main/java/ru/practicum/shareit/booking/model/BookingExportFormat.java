@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum BookingExportFormat {
+
+  CSV(new MediaType("text", "csv"), "csv"),
+  NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+  private final MediaType mediaType;
+  private final String fileExtension;
+
+  BookingExportFormat(MediaType mediaType, String fileExtension) {
+    this.mediaType = mediaType;
+    this.fileExtension = fileExtension;
+  }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingPeriod {
+
+  private final Long itemId;
+  private final Long id;
+  private final Long bookerId;
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+  private final BookingStatus status;
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingView {
+
+  private final Long id;
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+  private final BookingStatus status;
+  private final Long itemId;
+  private final String itemName;
+  private final String itemDescription;
+  private final Boolean itemIsAvailable;
+  private final Long itemOwnerId;
+  private final Long itemRequestId;
+  private final Long itemVersion;
+  private final Long bookerId;
+  private final String bookerName;
+  private final String bookerEmail;
+  private final Long bookerVersion;
+}
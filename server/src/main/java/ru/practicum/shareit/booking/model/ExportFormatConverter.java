@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.model;
+
+import java.util.Locale;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExportFormatConverter implements Converter<String, BookingExportFormat> {
+
+  @Override
+  public BookingExportFormat convert(String inputFormatValue) {
+    try {
+      return BookingExportFormat.valueOf(inputFormatValue.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("Unknown format: " + inputFormatValue);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface ItemBookingAggregate {
+
+  Long getItemId();
+
+  Long getApprovedCount();
+
+  LocalDateTime getNearestEndDateTime();
+}
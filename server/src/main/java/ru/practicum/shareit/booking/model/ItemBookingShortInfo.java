@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface ItemBookingShortInfo {
+
+  Long getItemId();
+
+  Long getId();
+
+  Long getBookerId();
+
+  LocalDateTime getStartDateTime();
+
+  LocalDateTime getEndDateTime();
+}
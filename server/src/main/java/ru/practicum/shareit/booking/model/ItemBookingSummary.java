@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "item_booking_summary")
+public class ItemBookingSummary {
+
+  @Id
+  private Long itemId;
+  private Long lastBookingId;
+  private Long lastBookerId;
+  private LocalDateTime lastStartDateTime;
+  private LocalDateTime lastEndDateTime;
+  private Long nextBookingId;
+  private Long nextBookerId;
+  private LocalDateTime nextStartDateTime;
+  private LocalDateTime nextEndDateTime;
+  private Long approvedCount;
+  private LocalDateTime refreshAt;
+
+  public ItemBookingSummary(long itemId) {
+    this.itemId = itemId;
+    this.approvedCount = 0L;
+  }
+
+  public boolean isActualAt(LocalDateTime dateTime) {
+    return refreshAt == null || refreshAt.isAfter(dateTime);
+  }
+}
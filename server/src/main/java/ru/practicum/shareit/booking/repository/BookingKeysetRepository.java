@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.pagination.PageCursor;
+
+public interface BookingKeysetRepository {
+
+  List<BookingView> findBookerBookingsAfter(long bookerId, BookingFilter state, PageCursor cursor,
+      LocalDateTime dateTime, int limit);
+
+  List<BookingView> findOwnerBookingsAfter(long ownerId, BookingFilter state, PageCursor cursor,
+      LocalDateTime dateTime, int limit);
+
+  Stream<BookingView> streamBookerBookings(long bookerId, BookingFilter state, LocalDateTime dateTime);
+
+  Stream<BookingView> streamOwnerBookings(long ownerId, BookingFilter state, LocalDateTime dateTime);
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import org.hibernate.jpa.QueryHints;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.pagination.PageCursor;
+
+public class BookingKeysetRepositoryImpl implements BookingKeysetRepository {
+
+  private static final int STREAM_FETCH_SIZE = 500;
+
+  @PersistenceContext
+  private EntityManager em;
+
+  @Override
+  public List<BookingView> findBookerBookingsAfter(long bookerId, BookingFilter state, PageCursor cursor,
+      LocalDateTime dateTime, int limit) {
+    return findBookingsAfter(true, bookerId, state, cursor, dateTime, limit);
+  }
+
+  @Override
+  public List<BookingView> findOwnerBookingsAfter(long ownerId, BookingFilter state, PageCursor cursor,
+      LocalDateTime dateTime, int limit) {
+    return findBookingsAfter(false, ownerId, state, cursor, dateTime, limit);
+  }
+
+  @Override
+  public Stream<BookingView> streamBookerBookings(long bookerId, BookingFilter state, LocalDateTime dateTime) {
+    return streamBookings(true, bookerId, state, dateTime);
+  }
+
+  @Override
+  public Stream<BookingView> streamOwnerBookings(long ownerId, BookingFilter state, LocalDateTime dateTime) {
+    return streamBookings(false, ownerId, state, dateTime);
+  }
+
+  private List<BookingView> findBookingsAfter(boolean isBooker, long userId, BookingFilter state, PageCursor cursor,
+      LocalDateTime dateTime, int limit) {
+    return createQuery(isBooker, userId, state, cursor, dateTime)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  private Stream<BookingView> streamBookings(boolean isBooker, long userId, BookingFilter state,
+      LocalDateTime dateTime) {
+    return createQuery(isBooker, userId, state, null, dateTime)
+        .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+        .getResultStream();
+  }
+
+  private TypedQuery<BookingView> createQuery(boolean isBooker, long userId, BookingFilter state, PageCursor cursor,
+      LocalDateTime dateTime) {
+    var jpql = new StringBuilder(isBooker
+        ? BookingRepository.VIEW_QUERY + "WHERE b.booker.id = :userId "
+        : BookingRepository.OWNER_VIEW_QUERY + "WHERE i.ownerId = :userId ");
+    jpql.append(stateCondition(state));
+    if (cursor != null) {
+      jpql.append("AND b.endDateTime <= :sortValue "
+          + "AND (b.endDateTime < :sortValue OR (b.endDateTime = :sortValue AND b.id < :id)) ");
+    }
+    jpql.append("ORDER BY b.endDateTime DESC, b.id DESC");
+
+    var query = em.createQuery(jpql.toString(), BookingView.class)
+        .setParameter("userId", userId);
+    switch (state) {
+      case CURRENT:
+      case PAST:
+      case FUTURE:
+        query.setParameter("dateTime", dateTime);
+        break;
+      case WAITING:
+        query.setParameter("status", BookingStatus.WAITING);
+        break;
+      case REJECTED:
+        query.setParameter("status", BookingStatus.REJECTED);
+        break;
+      default:
+        break;
+    }
+    if (cursor != null) {
+      query.setParameter("sortValue", cursor.getSortValue())
+          .setParameter("id", cursor.getId());
+    }
+    return query;
+  }
+
+  private static String stateCondition(BookingFilter state) {
+    switch (state) {
+      case CURRENT:
+        return "AND b.startDateTime < :dateTime AND b.endDateTime > :dateTime ";
+      case PAST:
+        return "AND b.endDateTime < :dateTime ";
+      case FUTURE:
+        return "AND b.startDateTime > :dateTime ";
+      case WAITING:
+      case REJECTED:
+        return "AND b.status = :status ";
+      default:
+        return "";
+    }
+  }
+}
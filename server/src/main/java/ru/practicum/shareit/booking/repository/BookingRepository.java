@@ -1,51 +1,139 @@
 package ru.practicum.shareit.booking.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.ItemBookingAggregate;
+import ru.practicum.shareit.booking.model.ItemBookingShortInfo;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingKeysetRepository {
 
-  List<Booking> findAllByBookerId(long userId, Pageable pageable);
+  String VIEW_QUERY = "SELECT new ru.practicum.shareit.booking.model.BookingView("
+      + "b.id, b.startDateTime, b.endDateTime, b.status, "
+      + "i.id, i.name, i.description, i.isAvailable, i.ownerId, i.requestId, i.version, "
+      + "u.id, u.name, u.email, u.version) "
+      + "FROM Booking b "
+      + "LEFT JOIN b.item i "
+      + "LEFT JOIN b.booker u ";
+
+  String OWNER_VIEW_QUERY = "SELECT new ru.practicum.shareit.booking.model.BookingView("
+      + "b.id, b.startDateTime, b.endDateTime, b.status, "
+      + "i.id, i.name, i.description, i.isAvailable, i.ownerId, i.requestId, i.version, "
+      + "u.id, u.name, u.email, u.version) "
+      + "FROM items i "
+      + "JOIN Booking b ON b.item.id = i.id "
+      + "LEFT JOIN b.booker u ";
 
-  List<Booking> findAllByBookerIdAndEndDateTimeBefore(long userId,
-      LocalDateTime localDate, Pageable pageable);
+  @EntityGraph(attributePaths = {"item", "booker"})
+  Optional<Booking> findDetailedById(long bookingId);
 
-  @Query(value = "SELECT b "
+  @Query(value = "SELECT COUNT(b) > 0 "
       + "FROM Booking b "
-      + "WHERE start_date < ?2 "
-      + "AND end_date > ?2 "
-      + "AND booker_id = ?1 "
-      + "ORDER BY start_date DESC")
-  List<Booking> findAllCurrentBookingsByBookerId(long userId, LocalDateTime localDate, Pageable pageable);
+      + "WHERE b.item.id = ?1 "
+      + "AND b.status IN ?2 "
+      + "AND b.endDateTime > ?3 "
+      + "AND b.startDateTime < ?4")
+  boolean existsByItemIdAndStatusInAndEndDateTimeAfterAndStartDateTimeBefore(long itemId,
+      Collection<BookingStatus> statuses, LocalDateTime start, LocalDateTime end);
 
-  List<Booking> findAllByBookerIdAndStartDateTimeAfter(long userId, LocalDateTime localDate, Pageable pageable);
+  @Query(value = VIEW_QUERY
+      + "WHERE b.booker.id = ?1")
+  List<BookingView> findViewsByBookerId(long bookerId, Pageable pageable);
 
-  List<Booking> findAllByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
+  @Query(value = VIEW_QUERY
+      + "WHERE b.booker.id = ?1 "
+      + "AND b.startDateTime < ?2 "
+      + "AND b.endDateTime > ?2")
+  List<BookingView> findCurrentViewsByBookerId(long bookerId, LocalDateTime localDate, Pageable pageable);
 
-  List<Booking> findAllByItemIdIn(List<Long> ids, Pageable pageable);
+  @Query(value = VIEW_QUERY
+      + "WHERE b.booker.id = ?1 "
+      + "AND b.endDateTime < ?2")
+  List<BookingView> findPastViewsByBookerId(long bookerId, LocalDateTime localDate, Pageable pageable);
 
-  @Query(value = "SELECT b "
-      + "FROM Booking b "
-      + "WHERE start_date < ?2 "
-      + "AND end_date > ?2 "
-      + "AND item_id IN (?1) "
-      + "ORDER BY start_date DESC")
-  List<Booking> findAllCurrentBookingsByItemsIds(List<Long> ids, LocalDateTime localDate, Pageable pageable);
+  @Query(value = VIEW_QUERY
+      + "WHERE b.booker.id = ?1 "
+      + "AND b.startDateTime > ?2")
+  List<BookingView> findFutureViewsByBookerId(long bookerId, LocalDateTime localDate, Pageable pageable);
+
+  @Query(value = VIEW_QUERY
+      + "WHERE b.booker.id = ?1 "
+      + "AND b.status = ?2")
+  List<BookingView> findViewsByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
+
+  @Query(value = OWNER_VIEW_QUERY
+      + "WHERE i.ownerId = ?1")
+  List<BookingView> findViewsByOwnerId(long ownerId, Pageable pageable);
+
+  @Query(value = OWNER_VIEW_QUERY
+      + "WHERE i.ownerId = ?1 "
+      + "AND b.startDateTime < ?2 "
+      + "AND b.endDateTime > ?2")
+  List<BookingView> findCurrentViewsByOwnerId(long ownerId, LocalDateTime localDate, Pageable pageable);
 
-  List<Booking> findAllByItemIdInAndEndDateTimeBefore(List<Long> ids, LocalDateTime localDate, Pageable pageable);
+  @Query(value = OWNER_VIEW_QUERY
+      + "WHERE i.ownerId = ?1 "
+      + "AND b.endDateTime < ?2")
+  List<BookingView> findPastViewsByOwnerId(long ownerId, LocalDateTime localDate, Pageable pageable);
 
-  List<Booking> findAllByItemIdInAndStartDateTimeAfter(List<Long> ids, LocalDateTime localDate, Pageable pageable);
+  @Query(value = OWNER_VIEW_QUERY
+      + "WHERE i.ownerId = ?1 "
+      + "AND b.startDateTime > ?2")
+  List<BookingView> findFutureViewsByOwnerId(long ownerId, LocalDateTime localDate, Pageable pageable);
 
-  List<Booking> findAllByItemIdInAndStatus(List<Long> ids, BookingStatus status, Pageable pageable);
+  @Query(value = OWNER_VIEW_QUERY
+      + "WHERE i.ownerId = ?1 "
+      + "AND b.status = ?2")
+  List<BookingView> findViewsByOwnerIdAndStatus(long ownerId, BookingStatus status, Pageable pageable);
 
   Booking findFirstByItemIdAndEndDateTimeBeforeOrderByEndDateTimeDesc(long itemId, LocalDateTime localDate);
 
   Booking findFirstByItemIdAndStartDateTimeAfterOrderByEndDateTimeAsc(long itemId, LocalDateTime localDate);
 
+  @Query(value = "SELECT t.item_id AS itemId, t.id AS id, t.booker_id AS bookerId, "
+      + "t.start_date AS startDateTime, t.end_date AS endDateTime "
+      + "FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC, b.id DESC) AS rn "
+      + "FROM bookings b "
+      + "WHERE b.item_id IN (:itemIds) "
+      + "AND b.end_date < :localDate) t "
+      + "WHERE t.rn = 1", nativeQuery = true)
+  List<ItemBookingShortInfo> findLastBookingsByItemIds(@Param("itemIds") List<Long> itemIds,
+      @Param("localDate") LocalDateTime localDate);
+
+  @Query(value = "SELECT t.item_id AS itemId, t.id AS id, t.booker_id AS bookerId, "
+      + "t.start_date AS startDateTime, t.end_date AS endDateTime "
+      + "FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date ASC, b.id ASC) AS rn "
+      + "FROM bookings b "
+      + "WHERE b.item_id IN (:itemIds) "
+      + "AND b.start_date > :localDate) t "
+      + "WHERE t.rn = 1", nativeQuery = true)
+  List<ItemBookingShortInfo> findNextBookingsByItemIds(@Param("itemIds") List<Long> itemIds,
+      @Param("localDate") LocalDateTime localDate);
+
+  @Query(value = "SELECT b.item_id AS itemId, "
+      + "COUNT(CASE WHEN b.status = 'APPROVED' THEN 1 END) AS approvedCount, "
+      + "MIN(CASE WHEN b.end_date > :localDate THEN b.end_date END) AS nearestEndDateTime "
+      + "FROM bookings b "
+      + "WHERE b.item_id IN (:itemIds) "
+      + "GROUP BY b.item_id", nativeQuery = true)
+  List<ItemBookingAggregate> aggregateByItemIds(@Param("itemIds") List<Long> itemIds,
+      @Param("localDate") LocalDateTime localDate);
+
+  @Query(value = "SELECT new ru.practicum.shareit.booking.model.BookingPeriod("
+      + "b.item.id, b.id, b.booker.id, b.startDateTime, b.endDateTime, b.status) "
+      + "FROM Booking b "
+      + "WHERE b.item.id IN (:itemIds)")
+  List<BookingPeriod> findPeriodsByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
   boolean existsByBookerIdAndItemIdAndEndDateTimeBefore(long bookerId, long itemId, LocalDateTime dateTime);
 }
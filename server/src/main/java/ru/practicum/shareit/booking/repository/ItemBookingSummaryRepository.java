@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(value = "SELECT s "
+      + "FROM ItemBookingSummary s "
+      + "WHERE s.itemId IN ?1 "
+      + "ORDER BY s.itemId")
+  List<ItemBookingSummary> findLockedByItemIdIn(Collection<Long> itemIds);
+
+  @Query(value = "SELECT s.itemId "
+      + "FROM ItemBookingSummary s "
+      + "WHERE s.refreshAt <= ?1 "
+      + "ORDER BY s.refreshAt")
+  List<Long> findItemIdsToRefresh(LocalDateTime localDate, Pageable pageable);
+
+  @Query(value = "SELECT i.id "
+      + "FROM items i "
+      + "WHERE NOT EXISTS (SELECT s.itemId FROM ItemBookingSummary s WHERE s.itemId = i.id) "
+      + "ORDER BY i.id")
+  List<Long> findItemIdsWithoutSummary(Pageable pageable);
+}
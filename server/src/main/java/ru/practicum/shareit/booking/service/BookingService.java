@@ -1,9 +1,11 @@
 package ru.practicum.shareit.booking.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
 import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.pagination.PageCursor;
 
 public interface BookingService {
 
@@ -13,7 +15,13 @@ public interface BookingService {
 
   BookingCreateResponseDto getBookingInfo(long userId, long bookingId);
 
-  List<BookingCreateResponseDto> getAllBookingInfo(long userId, BookingFilter state, Integer from, Integer size);
+  List<BookingCreateResponseDto> getAllBookingInfo(long userId, BookingFilter state, Integer from, Integer size,
+      PageCursor cursor);
 
-  List<BookingCreateResponseDto> getAllOwnerBookingInfo(long userId, BookingFilter state, Integer from, Integer size);
+  List<BookingCreateResponseDto> getAllOwnerBookingInfo(long userId, BookingFilter state, Integer from, Integer size,
+      PageCursor cursor);
+
+  void streamAllBookingInfo(long userId, BookingFilter state, Consumer<? super BookingCreateResponseDto> action);
+
+  void streamAllOwnerBookingInfo(long userId, BookingFilter state, Consumer<? super BookingCreateResponseDto> action);
 }
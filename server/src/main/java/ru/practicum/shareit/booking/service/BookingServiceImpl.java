@@ -4,37 +4,62 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.calendar.BookingCalendarCache;
+import ru.practicum.shareit.booking.calendar.BookingChangedEvent;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
 import ru.practicum.shareit.booking.model.BookingFilter;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.invalidation.ResourceChangedEvent;
+import ru.practicum.shareit.invalidation.ResourceType;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingServiceImpl implements BookingService {
 
+  private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+  private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
   private final BookingRepository bookingRepository;
   private final UserRepository userRepository;
   private final ItemRepository itemRepository;
+  private final BookingCalendarCache calendarCache;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${shareit.booking.lock-item-on-booking:false}")
+  private boolean lockItemOnBooking;
 
   @Override
+  @Transactional
   public BookingCreateResponseDto bookItem(long bookerId, BookingCreateRequestDto requestDto) {
     var booker = userRepository.findById(bookerId)
         .orElseThrow(() -> new NoSuchElementException("User with id: " + bookerId + " doesn't exists"));
-    var item = itemRepository.findById(requestDto.getItemId())
+    var item = (lockItemOnBooking
+        ? itemRepository.findLockedById(requestDto.getItemId())
+        : itemRepository.findById(requestDto.getItemId()))
         .orElseThrow(() -> new NoSuchElementException("Item with id: " + requestDto.getItemId() + " doesn't exists"));
     if (!item.getIsAvailable()) {
       throw new IllegalStateException("Item with id: " + item.getId() + " is not available");
@@ -44,15 +69,33 @@ public class BookingServiceImpl implements BookingService {
       throw new NoSuchElementException("User is item owner");
     }
 
-    var booking = bookingRepository.save(BookingMapper.toBooking(bookerId, requestDto));
+    if (isBooked(item.getId(), requestDto.getStartDateTime(), requestDto.getEndDateTime())) {
+      throw new BookingConflictException(overlapMessage(item.getId()));
+    }
+
+    var booking = BookingMapper.toBooking(bookerId, requestDto);
     booking.setBooker(booker);
     booking.setItem(item);
+    try {
+      booking = bookingRepository.saveAndFlush(booking);
+    } catch (DataIntegrityViolationException e) {
+      if (isOverlapViolation(e)) {
+        throw new BookingConflictException(overlapMessage(item.getId()));
+      }
+      throw e;
+    }
+    eventPublisher.publishEvent(new BookingChangedEvent(BookingMapper.toBookingPeriod(booking)));
+    eventPublisher.publishEvent(new ResourceChangedEvent(ResourceType.ITEM, item.getId()));
     return BookingMapper.toBookingCreateResponseDto(booking);
   }
 
   @Override
+  @Transactional
+  @Retryable(value = OptimisticLockingFailureException.class,
+      maxAttemptsExpression = "${shareit.optimistic-lock.max-attempts}",
+      backoff = @Backoff(delayExpression = "${shareit.optimistic-lock.backoff-ms}", multiplier = 2))
   public BookingCreateResponseDto decidingOnRequest(long userId, long bookingId, boolean isApproved) {
-    var booking = bookingRepository.findById(bookingId)
+    var booking = bookingRepository.findDetailedById(bookingId)
         .orElseThrow(() -> new NoSuchElementException("Booking with id: " + bookingId + " doesn't exists"));
 
     if (userId != booking.getItem().getOwnerId()) {
@@ -65,12 +108,14 @@ public class BookingServiceImpl implements BookingService {
 
     booking.setStatus(isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
     booking = bookingRepository.save(booking);
+    eventPublisher.publishEvent(new BookingChangedEvent(BookingMapper.toBookingPeriod(booking)));
+    eventPublisher.publishEvent(new ResourceChangedEvent(ResourceType.ITEM, booking.getItem().getId()));
     return BookingMapper.toBookingCreateResponseDto(booking);
   }
 
   @Override
   public BookingCreateResponseDto getBookingInfo(long userId, long bookingId) {
-    var booking = bookingRepository.findById(bookingId)
+    var booking = bookingRepository.findDetailedById(bookingId)
         .orElseThrow(() -> new NoSuchElementException("Booking with id: " + bookingId + " doesn't exists"));
 
     if (userId != booking.getItem().getOwnerId() && userId != booking.getBooker().getId()) {
@@ -82,33 +127,40 @@ public class BookingServiceImpl implements BookingService {
 
   @Override
   public List<BookingCreateResponseDto> getAllBookingInfo(long userId, BookingFilter state, Integer from,
-      Integer size) {
+      Integer size, PageCursor cursor) {
     userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-    List<Booking> bookings = new ArrayList<>();
+    if (cursor != null) {
+      return bookingRepository.findBookerBookingsAfter(userId, state, checkCursor(cursor), LocalDateTime.now(),
+              size != null ? size : Integer.MAX_VALUE).stream()
+          .map(BookingMapper::toBookingCreateResponseDto)
+          .collect(Collectors.toList());
+    }
 
-    Sort sort = Sort.by("endDateTime").descending();
+    List<BookingView> bookings = new ArrayList<>();
+
+    Sort sort = Sort.by(Sort.Order.desc("endDateTime"), Sort.Order.desc("id"));
     Pageable pageable = from != null && size != null
         ? PageRequest.of(from / size, size, sort)
         : PageRequest.of(0, Integer.MAX_VALUE, sort);
 
     switch (state) {
       case ALL:
-        bookings = bookingRepository.findAllByBookerId(userId, pageable);
+        bookings = bookingRepository.findViewsByBookerId(userId, pageable);
         break;
       case CURRENT:
-        bookings = bookingRepository.findAllCurrentBookingsByBookerId(userId, LocalDateTime.now(), pageable);
+        bookings = bookingRepository.findCurrentViewsByBookerId(userId, LocalDateTime.now(), pageable);
         break;
       case PAST:
-        bookings = bookingRepository.findAllByBookerIdAndEndDateTimeBefore(userId, LocalDateTime.now(), pageable);
+        bookings = bookingRepository.findPastViewsByBookerId(userId, LocalDateTime.now(), pageable);
         break;
       case FUTURE:
-        bookings = bookingRepository.findAllByBookerIdAndStartDateTimeAfter(userId, LocalDateTime.now(), pageable);
+        bookings = bookingRepository.findFutureViewsByBookerId(userId, LocalDateTime.now(), pageable);
         break;
       case WAITING:
-        bookings = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, pageable);
+        bookings = bookingRepository.findViewsByBookerIdAndStatus(userId, BookingStatus.WAITING, pageable);
         break;
       case REJECTED:
-        bookings = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
+        bookings = bookingRepository.findViewsByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
         break;
     }
 
@@ -119,37 +171,40 @@ public class BookingServiceImpl implements BookingService {
 
   @Override
   public List<BookingCreateResponseDto> getAllOwnerBookingInfo(long userId, BookingFilter state, Integer from,
-      Integer size) {
+      Integer size, PageCursor cursor) {
     userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
-    var userItems = itemRepository.findAllByOwnerId(userId, Pageable.unpaged()).stream()
-        .map(Item::getId)
-        .collect(Collectors.toList());
+    if (cursor != null) {
+      return bookingRepository.findOwnerBookingsAfter(userId, state, checkCursor(cursor), LocalDateTime.now(),
+              size != null ? size : Integer.MAX_VALUE).stream()
+          .map(BookingMapper::toBookingCreateResponseDto)
+          .collect(Collectors.toList());
+    }
 
-    List<Booking> bookings = new ArrayList<>();
+    List<BookingView> bookings = new ArrayList<>();
 
-    Sort sort = Sort.by("endDateTime").descending();
+    Sort sort = Sort.by(Sort.Order.desc("b.endDateTime"), Sort.Order.desc("b.id"));
     Pageable pageable = from != null && size != null
         ? PageRequest.of(from / size, size, sort)
         : PageRequest.of(0, Integer.MAX_VALUE, sort);
 
     switch (state) {
       case ALL:
-        bookings = bookingRepository.findAllByItemIdIn(userItems, pageable);
+        bookings = bookingRepository.findViewsByOwnerId(userId, pageable);
         break;
       case CURRENT:
-        bookings = bookingRepository.findAllCurrentBookingsByItemsIds(userItems, LocalDateTime.now(), pageable);
+        bookings = bookingRepository.findCurrentViewsByOwnerId(userId, LocalDateTime.now(), pageable);
         break;
       case PAST:
-        bookings = bookingRepository.findAllByItemIdInAndEndDateTimeBefore(userItems, LocalDateTime.now(), pageable);
+        bookings = bookingRepository.findPastViewsByOwnerId(userId, LocalDateTime.now(), pageable);
         break;
       case FUTURE:
-        bookings = bookingRepository.findAllByItemIdInAndStartDateTimeAfter(userItems, LocalDateTime.now(), pageable);
+        bookings = bookingRepository.findFutureViewsByOwnerId(userId, LocalDateTime.now(), pageable);
         break;
       case WAITING:
-        bookings = bookingRepository.findAllByItemIdInAndStatus(userItems, BookingStatus.WAITING, pageable);
+        bookings = bookingRepository.findViewsByOwnerIdAndStatus(userId, BookingStatus.WAITING, pageable);
         break;
       case REJECTED:
-        bookings = bookingRepository.findAllByItemIdInAndStatus(userItems, BookingStatus.REJECTED, pageable);
+        bookings = bookingRepository.findViewsByOwnerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
         break;
     }
 
@@ -157,4 +212,48 @@ public class BookingServiceImpl implements BookingService {
         .map(BookingMapper::toBookingCreateResponseDto)
         .collect(Collectors.toList());
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void streamAllBookingInfo(long userId, BookingFilter state, Consumer<? super BookingCreateResponseDto> action) {
+    userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
+    try (var bookings = bookingRepository.streamBookerBookings(userId, state, LocalDateTime.now())) {
+      bookings.map(BookingMapper::toBookingCreateResponseDto)
+          .forEach(action);
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void streamAllOwnerBookingInfo(long userId, BookingFilter state, Consumer<? super BookingCreateResponseDto> action) {
+    userRepository.findById(userId).orElseThrow(NoSuchElementException::new);
+    try (var bookings = bookingRepository.streamOwnerBookings(userId, state, LocalDateTime.now())) {
+      bookings.map(BookingMapper::toBookingCreateResponseDto)
+          .forEach(action);
+    }
+  }
+
+  private boolean isBooked(long itemId, LocalDateTime start, LocalDateTime end) {
+    if (calendarCache.isEnabled() && calendarCache.hasOverlap(itemId, ACTIVE_STATUSES, start, end)) {
+      return true;
+    }
+    return bookingRepository.existsByItemIdAndStatusInAndEndDateTimeAfterAndStartDateTimeBefore(itemId,
+        ACTIVE_STATUSES, start, end);
+  }
+
+  private static PageCursor checkCursor(PageCursor cursor) {
+    if (cursor.getSortValue() == null) {
+      throw new IllegalArgumentException("Cursor doesn't belong to booking list");
+    }
+    return cursor;
+  }
+
+  private static String overlapMessage(long itemId) {
+    return "Item with id: " + itemId + " is already booked for the requested period";
+  }
+
+  private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+    return e.getCause() instanceof ConstraintViolationException
+        && EXCLUSION_VIOLATION_SQL_STATE.equals(((ConstraintViolationException) e.getCause()).getSQLState());
+  }
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.service;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBookingSummaryRoller {
+
+  private final ItemBookingSummaryService summaryService;
+
+  @Value("${shareit.booking-summary.roll-batch-size:500}")
+  private int batchSize;
+
+  @Scheduled(fixedDelayString = "${shareit.booking-summary.roll-interval-ms:60000}",
+      initialDelayString = "${shareit.booking-summary.roll-interval-ms:60000}")
+  public void rollSummaries() {
+    try {
+      var refreshed = summaryService.rollSummaries(LocalDateTime.now(), batchSize);
+      if (refreshed > 0) {
+        log.debug("Refreshed {} item booking summaries", refreshed);
+      }
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Item booking summaries were changed concurrently, retry on next roll");
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+public interface ItemBookingSummaryService {
+
+  void initSummary(long itemId);
+
+  void initSummaries(List<Long> itemIds);
+
+  void refreshSummaries(List<Long> itemIds);
+
+  Map<Long, ItemBookingSummary> getSummaries(List<Long> itemIds);
+
+  int rollSummaries(LocalDateTime dateTime, int batchSize);
+}
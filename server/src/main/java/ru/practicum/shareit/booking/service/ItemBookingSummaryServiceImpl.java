@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.calendar.BookingCalendarCache;
+import ru.practicum.shareit.booking.model.ItemBookingAggregate;
+import ru.practicum.shareit.booking.model.ItemBookingShortInfo;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+
+  private final ItemBookingSummaryRepository summaryRepository;
+  private final BookingRepository bookingRepository;
+  private final BookingCalendarCache calendarCache;
+
+  @Override
+  @Transactional
+  public void initSummary(long itemId) {
+    summaryRepository.save(new ItemBookingSummary(itemId));
+  }
+
+  @Override
+  @Transactional
+  public void initSummaries(List<Long> itemIds) {
+    summaryRepository.saveAll(itemIds.stream()
+        .map(ItemBookingSummary::new)
+        .collect(Collectors.toList()));
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Retryable(value = DataIntegrityViolationException.class,
+      maxAttemptsExpression = "${shareit.optimistic-lock.max-attempts}",
+      backoff = @Backoff(delayExpression = "${shareit.optimistic-lock.backoff-ms}", multiplier = 2))
+  public void refreshSummaries(List<Long> itemIds) {
+    if (itemIds.isEmpty()) {
+      return;
+    }
+
+    var stored = summaryRepository.findLockedByItemIdIn(itemIds).stream()
+        .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+    var summaries = itemIds.stream()
+        .map(s -> stored.computeIfAbsent(s, ItemBookingSummary::new))
+        .collect(Collectors.toList());
+
+    calculateSummaries(summaries, LocalDateTime.now());
+    summaryRepository.saveAll(summaries);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, ItemBookingSummary> getSummaries(List<Long> itemIds) {
+    if (itemIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    var now = LocalDateTime.now();
+    if (calendarCache.isEnabled()) {
+      return calendarCache.getSummaries(itemIds, now);
+    }
+
+    var stored = summaryRepository.findAllById(itemIds).stream()
+        .filter(s -> s.isActualAt(now))
+        .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+
+    var outdated = itemIds.stream()
+        .filter(s -> !stored.containsKey(s))
+        .map(ItemBookingSummary::new)
+        .collect(Collectors.toList());
+    calculateSummaries(outdated, now);
+    outdated.forEach(s -> stored.put(s.getItemId(), s));
+
+    return stored;
+  }
+
+  @Override
+  @Transactional
+  public int rollSummaries(LocalDateTime dateTime, int batchSize) {
+    var itemIds = new ArrayList<>(summaryRepository.findItemIdsToRefresh(dateTime, PageRequest.of(0, batchSize)));
+    itemIds.addAll(summaryRepository.findItemIdsWithoutSummary(PageRequest.of(0, batchSize)));
+    refreshSummaries(itemIds);
+    return itemIds.size();
+  }
+
+  private void calculateSummaries(List<ItemBookingSummary> summaries, LocalDateTime dateTime) {
+    if (summaries.isEmpty()) {
+      return;
+    }
+
+    var itemIds = summaries.stream()
+        .map(ItemBookingSummary::getItemId)
+        .collect(Collectors.toList());
+    var lastBookings = bookingRepository.findLastBookingsByItemIds(itemIds, dateTime).stream()
+        .collect(Collectors.toMap(ItemBookingShortInfo::getItemId, Function.identity()));
+    var nextBookings = bookingRepository.findNextBookingsByItemIds(itemIds, dateTime).stream()
+        .collect(Collectors.toMap(ItemBookingShortInfo::getItemId, Function.identity()));
+    var aggregates = bookingRepository.aggregateByItemIds(itemIds, dateTime).stream()
+        .collect(Collectors.toMap(ItemBookingAggregate::getItemId, Function.identity()));
+
+    for (var summary : summaries) {
+      var lastBooking = lastBookings.get(summary.getItemId());
+      var nextBooking = nextBookings.get(summary.getItemId());
+      var aggregate = aggregates.get(summary.getItemId());
+
+      summary.setLastBookingId(lastBooking != null ? lastBooking.getId() : null);
+      summary.setLastBookerId(lastBooking != null ? lastBooking.getBookerId() : null);
+      summary.setLastStartDateTime(lastBooking != null ? lastBooking.getStartDateTime() : null);
+      summary.setLastEndDateTime(lastBooking != null ? lastBooking.getEndDateTime() : null);
+      summary.setNextBookingId(nextBooking != null ? nextBooking.getId() : null);
+      summary.setNextBookerId(nextBooking != null ? nextBooking.getBookerId() : null);
+      summary.setNextStartDateTime(nextBooking != null ? nextBooking.getStartDateTime() : null);
+      summary.setNextEndDateTime(nextBooking != null ? nextBooking.getEndDateTime() : null);
+      summary.setApprovedCount(aggregate != null ? aggregate.getApprovedCount() : 0L);
+      summary.setRefreshAt(earliest(
+          nextBooking != null ? nextBooking.getStartDateTime() : null,
+          aggregate != null ? aggregate.getNearestEndDateTime() : null));
+    }
+  }
+
+  private static LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+    if (first == null) {
+      return second;
+    }
+    if (second == null) {
+      return first;
+    }
+    return first.isBefore(second) ? first : second;
+  }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.calendar.BookingChangedEvent;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBookingSummaryUpdater {
+
+  private final ItemBookingSummaryService summaryService;
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onBookingChanged(BookingChangedEvent event) {
+    var itemId = event.getPeriod().getItemId();
+    try {
+      summaryService.refreshSummaries(List.of(itemId));
+    } catch (RuntimeException e) {
+      log.warn("Failed to refresh booking summary of item {}, it stays stale until the next roll", itemId, e);
+    }
+  }
+}
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.commonhandler;
 
 import java.util.NoSuchElementException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
 import ru.practicum.shareit.item.exception.NoPermitsException;
 
 @RestControllerAdvice
@@ -28,6 +30,18 @@ public class CommonExceptionHandler {
     return new ErrorResponse(e.getMessage());
   }
 
+  @ExceptionHandler
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ErrorResponse handleBookingConflictException(final BookingConflictException e) {
+    return new ErrorResponse(e.getMessage());
+  }
+
+  @ExceptionHandler
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ErrorResponse handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+    return new ErrorResponse("Resource was modified concurrently, please retry the request");
+  }
+
   @ExceptionHandler
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorResponse handleIllegalStateException(final IllegalStateException e) {
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.AnnotationAwareRetryOperationsInterceptor;
+import org.springframework.retry.annotation.Retryable;
+
+@Configuration
+public class RetryConfig {
+
+  @Bean
+  public AnnotationAwareRetryOperationsInterceptor retryInterceptor() {
+    return new AnnotationAwareRetryOperationsInterceptor();
+  }
+
+  @Bean
+  public Advisor retryAdvisor(AnnotationAwareRetryOperationsInterceptor retryInterceptor) {
+    var advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(Retryable.class),
+        retryInterceptor);
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+}
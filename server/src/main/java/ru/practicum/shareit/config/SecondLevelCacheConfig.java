@@ -0,0 +1,71 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.second-level-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+  public static final String USERS_REGION = "users";
+  public static final String ITEMS_REGION = "items";
+
+  @Bean(destroyMethod = "close")
+  public CacheManager secondLevelCacheManager(MeterRegistry meterRegistry,
+      @Value("${shareit.second-level-cache.entity-max-size}") long entityMaxSize,
+      @Value("${shareit.second-level-cache.query-max-size}") long queryMaxSize,
+      @Value("${shareit.second-level-cache.ttl-seconds}") long ttlSeconds) {
+    var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    var cacheManager = provider.getCacheManager(URI.create("shareit-" + UUID.randomUUID()),
+        provider.getDefaultClassLoader());
+    cacheManager.createCache(USERS_REGION, boundedRegion(entityMaxSize, ttlSeconds));
+    cacheManager.createCache(ITEMS_REGION, boundedRegion(entityMaxSize, ttlSeconds));
+    cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+        boundedRegion(queryMaxSize, ttlSeconds));
+    cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region());
+    for (var name : cacheManager.getCacheNames()) {
+      JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(name));
+    }
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+
+  private static CaffeineConfiguration<Object, Object> boundedRegion(long maxSize, long ttlSeconds) {
+    var configuration = region();
+    configuration.setMaximumSize(OptionalLong.of(maxSize));
+    configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+    return configuration;
+  }
+
+  private static CaffeineConfiguration<Object, Object> region() {
+    var configuration = new CaffeineConfiguration<>();
+    configuration.setStatisticsEnabled(true);
+    return configuration;
+  }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.invalidation;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InvalidationBatch {
+
+  private final String epoch;
+  private final long sequence;
+  private final boolean reset;
+  private final List<InvalidationEntry> events;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.invalidation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/invalidations")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class InvalidationController {
+
+  private final InvalidationLog invalidationLog;
+
+  @GetMapping
+  public InvalidationBatch getInvalidations(@RequestParam(value = "epoch", required = false) String epoch,
+      @RequestParam(value = "after", defaultValue = "0") long after) {
+    return invalidationLog.getEntriesAfter(epoch, after);
+  }
+}
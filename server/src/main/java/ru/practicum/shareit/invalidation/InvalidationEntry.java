@@ -0,0 +1,13 @@
+package ru.practicum.shareit.invalidation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InvalidationEntry {
+
+  private final long sequence;
+  private final ResourceType type;
+  private final long id;
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.invalidation;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class InvalidationLog {
+
+  private final String epoch = UUID.randomUUID().toString();
+  private final int capacity;
+  private final Deque<InvalidationEntry> entries;
+  private long sequence;
+
+  public InvalidationLog(@Value("${shareit.invalidation.log-capacity}") int capacity) {
+    this.capacity = capacity;
+    this.entries = new ArrayDeque<>(capacity);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onResourceChanged(ResourceChangedEvent event) {
+    entries.addLast(new InvalidationEntry(++sequence, event.getType(), event.getId()));
+    if (entries.size() > capacity) {
+      entries.removeFirst();
+    }
+  }
+
+  public synchronized InvalidationBatch getEntriesAfter(String clientEpoch, long after) {
+    var oldestSequence = entries.isEmpty() ? sequence + 1 : entries.getFirst().getSequence();
+    if (!epoch.equals(clientEpoch) || after > sequence || after + 1 < oldestSequence) {
+      return new InvalidationBatch(epoch, sequence, true, Collections.emptyList());
+    }
+
+    var events = entries.stream()
+        .filter(s -> s.getSequence() > after)
+        .collect(Collectors.toList());
+    return new InvalidationBatch(epoch, sequence, false, events);
+  }
+}
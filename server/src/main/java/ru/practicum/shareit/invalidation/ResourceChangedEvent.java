@@ -0,0 +1,14 @@
+package ru.practicum.shareit.invalidation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ResourceChangedEvent {
+
+  private final ResourceType type;
+  private final long id;
+}
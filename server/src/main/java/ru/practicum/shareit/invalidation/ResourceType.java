@@ -0,0 +1,7 @@
+package ru.practicum.shareit.invalidation;
+
+public enum ResourceType {
+  USER,
+  ITEM,
+  REQUEST
+}
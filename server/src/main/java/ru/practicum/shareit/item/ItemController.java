@@ -1,9 +1,16 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Locale;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,10 +20,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.JsonArrayStream;
+import ru.practicum.shareit.pagination.PageCursor;
 
 @RestController
 @RequestMapping("/items")
@@ -24,12 +36,19 @@ import ru.practicum.shareit.item.service.ItemService;
 public class ItemController {
 
   private final ItemService itemService;
+  private final ItemImportService itemImportService;
+  private final ObjectMapper mapper;
 
   @PostMapping
   public ItemDto createItem(@RequestHeader("X-Sharer-User-Id") long userId, @RequestBody ItemDto itemDto) {
     return itemService.createItem(userId, itemDto);
   }
 
+  @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public List<ItemImportResultDto> importItems(@RequestHeader("X-Sharer-User-Id") long userId, InputStream body) {
+    return itemImportService.importItems(userId, body);
+  }
+
   @PatchMapping("/{itemId}")
   public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
       @PathVariable long itemId,
@@ -43,10 +62,17 @@ public class ItemController {
   }
 
   @GetMapping
-  public List<ItemWithBookingInfoDto> getItems(@RequestHeader("X-Sharer-User-Id") long userId,
+  public ResponseEntity<List<ItemWithBookingInfoDto>> getItems(@RequestHeader("X-Sharer-User-Id") long userId,
       @RequestParam(value = "from", required = false) Integer from,
-      @RequestParam(value = "size", required = false) Integer size) {
-    return itemService.getItems(userId, from, size);
+      @RequestParam(value = "size", required = false) Integer size,
+      @RequestParam(value = "cursor", required = false) PageCursor cursor) {
+    return PageCursor.toResponse(itemService.getItems(userId, from, size, cursor), size,
+        s -> new PageCursor(s.getId()));
+  }
+
+  @GetMapping(params = {"!from", "!size", "!cursor"})
+  public ResponseEntity<StreamingResponseBody> streamItems(@RequestHeader("X-Sharer-User-Id") long userId) {
+    return JsonArrayStream.toResponse(mapper, action -> itemService.streamItems(userId, action));
   }
 
   @GetMapping("/search")
@@ -57,6 +83,18 @@ public class ItemController {
     return itemService.searchItem(searchCriteria.toLowerCase(Locale.ROOT), from, size);
   }
 
+  @GetMapping("/available")
+  public ResponseEntity<List<ItemDto>> findAvailableItems(@RequestHeader("X-Sharer-User-Id") long userId,
+      @RequestParam("start") @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime start,
+      @RequestParam("end") @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime end,
+      @RequestParam(value = "text", required = false) String text,
+      @RequestParam(value = "size", defaultValue = "20") int size,
+      @RequestParam(value = "cursor", required = false) PageCursor cursor) {
+    var searchCriteria = text != null ? text.toLowerCase(Locale.ROOT) : null;
+    return PageCursor.toResponse(itemService.findAvailableItems(searchCriteria, start, end, size, cursor), size,
+        s -> new PageCursor(s.getId()));
+  }
+
   @PostMapping("/{itemId}/comment")
   public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") long userId,
       @PathVariable long itemId,
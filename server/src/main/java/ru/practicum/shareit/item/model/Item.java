@@ -1,15 +1,22 @@
 package ru.practicum.shareit.item.model;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.config.SecondLevelCacheConfig;
+import ru.practicum.shareit.item.search.ItemSearchIndexListener;
 
 @Getter
 @Setter
@@ -18,18 +25,32 @@ import lombok.ToString;
 @Builder
 @NoArgsConstructor
 @Entity(name = "items")
+@EntityListeners(ItemSearchIndexListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ITEMS_REGION)
 public class Item {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+  @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
   private Long id;
   private String name;
   private String description;
   private Boolean isAvailable;
   private Long ownerId;
   private Long requestId;
+  @Version
+  private Long version;
 
   public Item(long itemId) {
     this.id = itemId;
   }
+
+  public Item(Long id, String name, String description, Boolean isAvailable, Long ownerId, Long requestId) {
+    this.id = id;
+    this.name = name;
+    this.description = description;
+    this.isAvailable = isAvailable;
+    this.ownerId = ownerId;
+    this.requestId = requestId;
+  }
 }
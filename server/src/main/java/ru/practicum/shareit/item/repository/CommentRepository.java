@@ -2,9 +2,14 @@ package ru.practicum.shareit.item.repository;
 
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+  @Query(value = "SELECT c "
+      + "FROM comments c "
+      + "LEFT JOIN FETCH c.author "
+      + "WHERE c.item.id = ?1")
   List<Comment> findAllByItemId(long itemId);
 }
@@ -1,22 +1,69 @@
 package ru.practicum.shareit.item.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<Item> findLockedById(long itemId);
+
   List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
+  List<Item> findAllByOwnerIdAndIdGreaterThan(Long ownerId, Long id, Pageable pageable);
+
+  @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+  Stream<Item> streamAllByOwnerIdOrderByIdAsc(long ownerId);
+
   @Query(value = "SELECT i "
       + "FROM items i "
-      + "WHERE UPPER(i.name) Like CONCAT('%',UPPER(:searchCriteria),'%') "
-      + "OR UPPER(i.description) Like CONCAT('%',UPPER(:searchCriteria),'%') "
+      + "WHERE (UPPER(i.name) Like CONCAT('%',UPPER(:searchCriteria),'%') "
+      + "OR UPPER(i.description) Like CONCAT('%',UPPER(:searchCriteria),'%')) "
       + "AND is_available = true")
   List<Item> findAllByNameOrDescription(@Param("searchCriteria") String searchCriteria, Pageable pageable);
 
+  @Query(value = "SELECT i.* "
+      + "FROM items i "
+      + "WHERE i.is_available = true "
+      + "AND (i.name ILIKE :pattern OR i.description ILIKE :pattern) "
+      + "ORDER BY GREATEST(word_similarity(:text, i.name), word_similarity(:text, i.description)) DESC, i.id",
+      nativeQuery = true)
+  List<Item> findAvailableByTrigramSimilarity(@Param("text") String text, @Param("pattern") String pattern,
+      Pageable pageable);
+
+  @Query(value = "SELECT i.* "
+      + "FROM items i "
+      + "WHERE i.is_available = true "
+      + "AND i.id > :afterId "
+      + "AND (i.name ILIKE :pattern OR i.description ILIKE :pattern) "
+      + "AND NOT EXISTS (SELECT 1 FROM bookings b "
+      + "WHERE b.item_id = i.id "
+      + "AND b.status = 'APPROVED' "
+      + "AND b.end_date > :start "
+      + "AND b.start_date < :end) "
+      + "ORDER BY i.id",
+      nativeQuery = true)
+  List<Item> findAvailableInPeriod(@Param("pattern") String pattern, @Param("start") LocalDateTime start,
+      @Param("end") LocalDateTime end, @Param("afterId") long afterId, Pageable pageable);
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   List<Item> findAllByRequestId(long requestId);
+
+  List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+public abstract class AbstractInMemoryItemSearchIndex implements ItemSearchIndex {
+
+  private static final int LOAD_BATCH_SIZE = 1000;
+
+  private final ItemRepository itemRepository;
+
+  protected AbstractInMemoryItemSearchIndex(ItemRepository itemRepository) {
+    this.itemRepository = itemRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+    List<Item> items;
+    do {
+      items = itemRepository.findAll(pageable).getContent();
+      items.forEach(this::index);
+      pageable = pageable.next();
+    } while (items.size() == LOAD_BATCH_SIZE);
+  }
+
+  @Override
+  public List<Item> search(String text, Pageable pageable) {
+    var query = text.toLowerCase(Locale.ROOT);
+    List<Item> result;
+    boolean hasStaleIds;
+    do {
+      var ids = searchIds(query, pageable);
+      if (ids.isEmpty()) {
+        return Collections.emptyList();
+      }
+
+      var items = itemRepository.findAllById(ids).stream()
+          .collect(Collectors.toMap(Item::getId, Function.identity()));
+      result = new ArrayList<>(ids.size());
+      hasStaleIds = false;
+      for (var id : ids) {
+        var item = items.get(id);
+        if (item == null) {
+          remove(id);
+          hasStaleIds = true;
+        } else if (Boolean.TRUE.equals(item.getIsAvailable())) {
+          result.add(item);
+        }
+      }
+    } while (hasStaleIds);
+    return result;
+  }
+
+  protected abstract List<Long> searchIds(String query, Pageable pageable);
+
+  protected static String lowerCase(String value) {
+    return value != null ? value.toLowerCase(Locale.ROOT) : "";
+  }
+}
@@ -0,0 +1,208 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "memory")
+public class InMemoryItemSearchIndex extends AbstractInMemoryItemSearchIndex {
+
+  private final Map<Long, IndexedItem> documents = new HashMap<>();
+  private final Map<String, Set<Long>> postings = new HashMap<>();
+  private final NavigableMap<String, Set<String>> tokensBySuffix = new TreeMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  @Autowired
+  public InMemoryItemSearchIndex(ItemRepository itemRepository) {
+    super(itemRepository);
+  }
+
+  @Override
+  public void index(Item item) {
+    var document = new IndexedItem(
+        lowerCase(item.getName()),
+        lowerCase(item.getDescription()),
+        Boolean.TRUE.equals(item.getIsAvailable()));
+
+    lock.writeLock().lock();
+    try {
+      removeDocument(item.getId());
+      documents.put(item.getId(), document);
+      for (var token : document.tokens()) {
+        var ids = postings.get(token);
+        if (ids == null) {
+          ids = new HashSet<>();
+          postings.put(token, ids);
+          addSuffixes(token);
+        }
+        ids.add(item.getId());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void remove(long itemId) {
+    lock.writeLock().lock();
+    try {
+      removeDocument(itemId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  protected List<Long> searchIds(String text, Pageable pageable) {
+    var queryTokens = tokenize(text);
+
+    lock.readLock().lock();
+    try {
+      var candidates = queryTokens.isEmpty() ? documents.keySet() : findCandidates(queryTokens);
+
+      var ranks = new HashMap<Long, Integer>();
+      for (var id : candidates) {
+        var document = documents.get(id);
+        if (document.available && document.contains(text)) {
+          ranks.put(id, document.rank(text, queryTokens));
+        }
+      }
+
+      var stream = ranks.keySet().stream()
+          .sorted(Comparator.comparing((Long s) -> ranks.get(s)).reversed()
+              .thenComparing(Comparator.naturalOrder()));
+
+      if (pageable.isPaged()) {
+        stream = stream.skip(pageable.getOffset()).limit(pageable.getPageSize());
+      }
+      return stream.collect(Collectors.toList());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private Set<Long> findCandidates(Set<String> queryTokens) {
+    Set<Long> candidates = null;
+    for (var queryToken : queryTokens) {
+      var matches = new HashSet<Long>();
+      tokensBySuffix.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).values()
+          .forEach(tokens -> tokens.forEach(s -> matches.addAll(postings.get(s))));
+
+      if (candidates == null) {
+        candidates = matches;
+      } else {
+        candidates.retainAll(matches);
+      }
+
+      if (candidates.isEmpty()) {
+        break;
+      }
+    }
+    return candidates;
+  }
+
+  private void removeDocument(long itemId) {
+    var previous = documents.remove(itemId);
+    if (previous == null) {
+      return;
+    }
+
+    for (var token : previous.tokens()) {
+      var ids = postings.get(token);
+      if (ids != null) {
+        ids.remove(itemId);
+        if (ids.isEmpty()) {
+          postings.remove(token);
+          removeSuffixes(token);
+        }
+      }
+    }
+  }
+
+  private void addSuffixes(String token) {
+    for (var i = 0; i < token.length(); i++) {
+      tokensBySuffix.computeIfAbsent(token.substring(i), s -> new HashSet<>()).add(token);
+    }
+  }
+
+  private void removeSuffixes(String token) {
+    for (var i = 0; i < token.length(); i++) {
+      var suffix = token.substring(i);
+      var tokens = tokensBySuffix.get(suffix);
+      if (tokens != null) {
+        tokens.remove(token);
+        if (tokens.isEmpty()) {
+          tokensBySuffix.remove(suffix);
+        }
+      }
+    }
+  }
+
+  private static Set<String> tokenize(String value) {
+    return Arrays.stream(value.split("[^\\p{L}\\p{N}]+"))
+        .filter(s -> !s.isEmpty())
+        .collect(Collectors.toSet());
+  }
+
+  private static class IndexedItem {
+
+    private final String name;
+    private final String description;
+    private final boolean available;
+    private final Set<String> nameTokens;
+    private final Set<String> descriptionTokens;
+
+    IndexedItem(String name, String description, boolean available) {
+      this.name = name;
+      this.description = description;
+      this.available = available;
+      this.nameTokens = tokenize(name);
+      this.descriptionTokens = tokenize(description);
+    }
+
+    Set<String> tokens() {
+      var tokens = new HashSet<>(nameTokens);
+      tokens.addAll(descriptionTokens);
+      return tokens;
+    }
+
+    boolean contains(String text) {
+      return name.contains(text) || description.contains(text);
+    }
+
+    int rank(String text, Set<String> queryTokens) {
+      var rank = 0;
+      if (name.equals(text)) {
+        rank += 8;
+      }
+      if (name.contains(text)) {
+        rank += 4;
+      }
+      for (var token : queryTokens) {
+        if (nameTokens.contains(token)) {
+          rank += 2;
+        }
+        if (descriptionTokens.contains(token)) {
+          rank += 1;
+        }
+      }
+      return rank;
+    }
+  }
+}
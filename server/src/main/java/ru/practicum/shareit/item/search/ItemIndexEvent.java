@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemIndexEvent {
+
+  private final long itemId;
+  @Nullable
+  private final Item item;
+}
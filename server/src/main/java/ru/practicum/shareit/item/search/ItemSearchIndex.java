@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemSearchIndex {
+
+  List<Item> search(String text, Pageable pageable);
+
+  void index(Item item);
+
+  void remove(long itemId);
+
+  static String toContainsPattern(String text) {
+    return "%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+  }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.practicum.shareit.item.model.Item;
+
+public class ItemSearchIndexListener {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  public ItemSearchIndexListener(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void onSave(Item item) {
+    eventPublisher.publishEvent(new ItemIndexEvent(item.getId(), item));
+  }
+
+  @PostRemove
+  public void onRemove(Item item) {
+    eventPublisher.publishEvent(new ItemIndexEvent(item.getId(), null));
+  }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class ItemSearchIndexUpdater {
+
+  private final ObjectProvider<ItemSearchIndex> searchIndex;
+
+  @Autowired
+  public ItemSearchIndexUpdater(ObjectProvider<ItemSearchIndex> searchIndex) {
+    this.searchIndex = searchIndex;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onItemChanged(ItemIndexEvent event) {
+    searchIndex.ifAvailable(s -> {
+      if (event.getItem() != null) {
+        s.index(event.getItem());
+      } else {
+        s.remove(event.getItemId());
+      }
+    });
+  }
+}
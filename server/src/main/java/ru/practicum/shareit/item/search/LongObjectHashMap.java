@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+final class LongObjectHashMap<V> {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys = new long[MIN_CAPACITY];
+  private Object[] values = new Object[MIN_CAPACITY];
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  V get(long key) {
+    var mask = keys.length - 1;
+    for (var slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+    }
+    return null;
+  }
+
+  void put(long key, V value) {
+    if ((size + 1) * 4L > keys.length * 3L) {
+      resize(keys.length * 2);
+    }
+    var mask = keys.length - 1;
+    var slot = slot(key, mask);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+  }
+
+  @SuppressWarnings("unchecked")
+  V remove(long key) {
+    var mask = keys.length - 1;
+    var slot = slot(key, mask);
+    while (values[slot] != null && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    if (values[slot] == null) {
+      return null;
+    }
+
+    var removed = (V) values[slot];
+    var gap = slot;
+    for (var next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+      var home = slot(keys[next], mask);
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+    }
+    values[gap] = null;
+    size--;
+    return removed;
+  }
+
+  @SuppressWarnings("unchecked")
+  void forEach(EntryConsumer<V> action) {
+    for (var slot = 0; slot < keys.length; slot++) {
+      if (values[slot] != null) {
+        action.accept(keys[slot], (V) values[slot]);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void resize(int capacity) {
+    var oldKeys = keys;
+    var oldValues = values;
+    keys = new long[capacity];
+    values = new Object[capacity];
+    var mask = capacity - 1;
+    for (var i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        var slot = slot(oldKeys[i], mask);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+    Arrays.fill(oldValues, null);
+  }
+
+  private static int slot(long key, int mask) {
+    var hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  @FunctionalInterface
+  interface EntryConsumer<V> {
+
+    void accept(long key, V value);
+  }
+}
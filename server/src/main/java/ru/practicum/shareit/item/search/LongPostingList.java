@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+final class LongPostingList {
+
+  private long[] ids = new long[2];
+  private int size;
+
+  void add(long id) {
+    if (size == 0 || ids[size - 1] < id) {
+      ensureCapacity();
+      ids[size++] = id;
+      return;
+    }
+
+    var position = Arrays.binarySearch(ids, 0, size, id);
+    if (position >= 0) {
+      return;
+    }
+
+    position = -position - 1;
+    ensureCapacity();
+    System.arraycopy(ids, position, ids, position + 1, size - position);
+    ids[position] = id;
+    size++;
+  }
+
+  void remove(long id) {
+    var position = Arrays.binarySearch(ids, 0, size, id);
+    if (position < 0) {
+      return;
+    }
+
+    System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+    size--;
+  }
+
+  boolean contains(long id) {
+    return Arrays.binarySearch(ids, 0, size, id) >= 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  long[] toArray() {
+    return Arrays.copyOf(ids, size);
+  }
+
+  private void ensureCapacity() {
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+    }
+  }
+}
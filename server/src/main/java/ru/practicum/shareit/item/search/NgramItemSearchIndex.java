@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "ngram")
+public class NgramItemSearchIndex extends AbstractInMemoryItemSearchIndex {
+
+  private static final int GRAM_LENGTH = 3;
+  private static final char TEXT_START = '\u0002';
+  private static final char TEXT_END = '\u0003';
+
+  private final LongObjectHashMap<IndexedItem> documents = new LongObjectHashMap<>();
+  private final LongObjectHashMap<LongPostingList> postings = new LongObjectHashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  @Autowired
+  public NgramItemSearchIndex(ItemRepository itemRepository) {
+    super(itemRepository);
+  }
+
+  @Override
+  public void index(Item item) {
+    var document = new IndexedItem(
+        lowerCase(item.getName()).getBytes(StandardCharsets.UTF_8),
+        lowerCase(item.getDescription()).getBytes(StandardCharsets.UTF_8),
+        Boolean.TRUE.equals(item.getIsAvailable()));
+
+    lock.writeLock().lock();
+    try {
+      removeDocument(item.getId());
+      documents.put(item.getId(), document);
+      for (var gram : document.grams()) {
+        var posting = postings.get(gram);
+        if (posting == null) {
+          posting = new LongPostingList();
+          postings.put(gram, posting);
+        }
+        posting.add(item.getId());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void remove(long itemId) {
+    lock.writeLock().lock();
+    try {
+      removeDocument(itemId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  protected List<Long> searchIds(String query, Pageable pageable) {
+    lock.readLock().lock();
+    try {
+      var candidates = query.length() >= GRAM_LENGTH ? intersectPostings(query) : unionPostings(query);
+      var pattern = query.getBytes(StandardCharsets.UTF_8);
+
+      var nameHits = new ArrayList<Long>();
+      var descriptionHits = new ArrayList<Long>();
+      for (var id : candidates) {
+        var document = documents.get(id);
+        if (!document.available) {
+          continue;
+        }
+
+        if (contains(document.name, pattern)) {
+          nameHits.add(id);
+        } else if (contains(document.description, pattern)) {
+          descriptionHits.add(id);
+        }
+      }
+      nameHits.addAll(descriptionHits);
+
+      if (pageable.isUnpaged()) {
+        return nameHits;
+      }
+
+      var fromIndex = (int) Math.min(pageable.getOffset(), nameHits.size());
+      var toIndex = Math.min(fromIndex + pageable.getPageSize(), nameHits.size());
+      return new ArrayList<>(nameHits.subList(fromIndex, toIndex));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private long[] intersectPostings(String query) {
+    var queryPostings = new ArrayList<LongPostingList>();
+    for (var gram : grams(query, new HashSet<>())) {
+      var posting = postings.get(gram);
+      if (posting == null) {
+        return new long[0];
+      }
+      queryPostings.add(posting);
+    }
+    queryPostings.sort(Comparator.comparingInt(LongPostingList::size));
+
+    var result = queryPostings.get(0).toArray();
+    var size = result.length;
+    for (var posting : queryPostings.subList(1, queryPostings.size())) {
+      var retained = 0;
+      for (var i = 0; i < size; i++) {
+        if (posting.contains(result[i])) {
+          result[retained++] = result[i];
+        }
+      }
+      size = retained;
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  private long[] unionPostings(String query) {
+    var matches = new ArrayList<long[]>();
+    postings.forEach((gram, posting) -> {
+      if (gramContains(gram, query)) {
+        matches.add(posting.toArray());
+      }
+    });
+
+    if (matches.isEmpty()) {
+      return new long[0];
+    }
+    return matches.stream()
+        .flatMapToLong(LongStream::of)
+        .sorted()
+        .distinct()
+        .toArray();
+  }
+
+  private void removeDocument(long itemId) {
+    var previous = documents.remove(itemId);
+    if (previous == null) {
+      return;
+    }
+
+    for (var gram : previous.grams()) {
+      var posting = postings.get(gram);
+      if (posting != null) {
+        posting.remove(itemId);
+        if (posting.isEmpty()) {
+          postings.remove(gram);
+        }
+      }
+    }
+  }
+
+  private static boolean gramContains(long gram, String query) {
+    var first = (char) (gram >>> 32);
+    var second = (char) (gram >>> 16);
+    var third = (char) gram;
+    if (query.length() == 1) {
+      var c = query.charAt(0);
+      return first == c || second == c || third == c;
+    }
+    var c0 = query.charAt(0);
+    var c1 = query.charAt(1);
+    return (first == c0 && second == c1) || (second == c0 && third == c1);
+  }
+
+  private static boolean contains(byte[] text, byte[] pattern) {
+    for (var i = 0; i + pattern.length <= text.length; i++) {
+      if (Arrays.equals(text, i, i + pattern.length, pattern, 0, pattern.length)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Set<Long> grams(String text, Set<Long> grams) {
+    for (var i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+      grams.add(encodeGram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+    }
+    return grams;
+  }
+
+  private static long encodeGram(char first, char second, char third) {
+    return ((long) first << 32) | ((long) second << 16) | third;
+  }
+
+  private static class IndexedItem {
+
+    private final byte[] name;
+    private final byte[] description;
+    private final boolean available;
+
+    IndexedItem(byte[] name, byte[] description, boolean available) {
+      this.name = name;
+      this.description = description;
+      this.available = available;
+    }
+
+    Set<Long> grams() {
+      var grams = NgramItemSearchIndex.grams(TEXT_START + new String(name, StandardCharsets.UTF_8) + TEXT_END,
+          new HashSet<>());
+      return NgramItemSearchIndex.grams(TEXT_START + new String(description, StandardCharsets.UTF_8) + TEXT_END,
+          grams);
+    }
+  }
+}
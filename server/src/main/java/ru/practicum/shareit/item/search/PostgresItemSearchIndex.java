@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class PostgresItemSearchIndex implements ItemSearchIndex {
+
+  private final ItemRepository itemRepository;
+
+  @Override
+  public List<Item> search(String text, Pageable pageable) {
+    return itemRepository.findAvailableByTrigramSimilarity(text, ItemSearchIndex.toContainsPattern(text), pageable);
+  }
+
+  @Override
+  public void index(Item item) {
+  }
+
+  @Override
+  public void remove(long itemId) {
+  }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.service;
+
+import java.io.InputStream;
+import java.util.List;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+public interface ItemImportService {
+
+  List<ItemImportResultDto> importItems(long userId, InputStream body);
+}
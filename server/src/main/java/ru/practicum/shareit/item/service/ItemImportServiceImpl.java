@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+
+  private final ItemService itemService;
+  private final ObjectMapper mapper;
+  private final int batchSize;
+
+  @Autowired
+  public ItemImportServiceImpl(ItemService itemService, ObjectMapper mapper,
+      @Value("${shareit.item-import.batch-size}") int batchSize) {
+    this.itemService = itemService;
+    this.mapper = mapper;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public List<ItemImportResultDto> importItems(long userId, InputStream body) {
+    var results = new ArrayList<ItemImportResultDto>();
+    var batch = new ArrayList<ItemDto>(batchSize);
+    var batchRows = new ArrayList<Integer>(batchSize);
+    var row = 1;
+
+    try (var parser = mapper.getFactory().createParser(body)) {
+      var token = parser.nextToken();
+      if (token == JsonToken.START_ARRAY) {
+        token = parser.nextToken();
+      }
+      for (; token != null && token != JsonToken.END_ARRAY; row++, token = parser.nextToken()) {
+        try {
+          batch.add(mapper.treeToValue(mapper.readTree(parser), ItemDto.class));
+          batchRows.add(row);
+        } catch (JsonMappingException e) {
+          results.add(new ItemImportResultDto(row, null, e.getOriginalMessage()));
+        }
+        if (batch.size() == batchSize) {
+          flush(userId, batch, batchRows, results);
+        }
+      }
+    } catch (JsonParseException e) {
+      results.add(new ItemImportResultDto(row, null, "Malformed JSON: " + e.getOriginalMessage()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    flush(userId, batch, batchRows, results);
+    results.sort(Comparator.comparingInt(ItemImportResultDto::getRow));
+    return results;
+  }
+
+  private void flush(long userId, List<ItemDto> batch, List<Integer> batchRows, List<ItemImportResultDto> results) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    var created = itemService.createItems(userId, batch);
+    for (var i = 0; i < created.size(); i++) {
+      created.get(i).setRow(batchRows.get(i));
+    }
+    results.addAll(created);
+    batch.clear();
+    batchRows.clear();
+  }
+}
@@ -1,23 +1,37 @@
 package ru.practicum.shareit.item.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
+import ru.practicum.shareit.pagination.PageCursor;
 
 public interface ItemService {
 
   ItemDto createItem(long userId, ItemDto itemDto);
 
+  List<ItemImportResultDto> createItems(long userId, List<ItemDto> itemDtos);
+
   ItemDto updateItem(long userId, long itemId, ItemDto itemDto);
 
   ItemWithBookingInfoDto getItem(long userId, Long itemId);
 
-  List<ItemWithBookingInfoDto> getItems(Long ownerId, Integer from, Integer size);
+  List<ItemWithBookingInfoDto> getItems(Long ownerId, Integer from, Integer size, PageCursor cursor);
+
+  void streamItems(long ownerId, Consumer<? super ItemWithBookingInfoDto> action);
 
   List<ItemDto> searchItem(String searchCriteria, Integer from, Integer size);
 
+  List<ItemDto> findAvailableItems(String text, LocalDateTime start, LocalDateTime end, int size, PageCursor cursor);
+
   List<ItemDto> findItemByRequestId(long requestId);
 
+  Map<Long, List<ItemDto>> findItemsByRequestIds(Collection<Long> requestIds);
+
   CommentDto addComment(long userId, long itemId, CommentDto comment);
 }
@@ -1,50 +1,126 @@
 package ru.practicum.shareit.item.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.invalidation.ResourceChangedEvent;
+import ru.practicum.shareit.invalidation.ResourceType;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
 import ru.practicum.shareit.item.exception.NoPermitsException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemServiceImpl implements ItemService {
 
+  private static final int STREAM_CHUNK_SIZE = 100;
+
   private final ItemRepository storage;
   private final UserRepository userRepository;
   private final BookingRepository bookingRepository;
   private final CommentRepository commentRepository;
+  private final RequestRepository requestRepository;
+  private final ItemBookingSummaryService summaryService;
+  private final ItemSearchIndex searchIndex;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PersistenceContext
+  private EntityManager em;
 
   @Override
+  @Transactional
   public ItemDto createItem(long userId, ItemDto itemDto) {
     userRepository.findById(userId)
         .orElseThrow(() -> new NoSuchElementException("User with id " + userId + " not found"));
     checkFieldsFilled(itemDto);
 
     var item = storage.save(ItemMapper.toItem(itemDto, userId));
+    summaryService.initSummary(item.getId());
+    publishRequestChanged(item);
     return ItemMapper.toItemDto(item);
   }
 
   @Override
+  @Transactional
+  public List<ItemImportResultDto> createItems(long userId, List<ItemDto> itemDtos) {
+    userRepository.findById(userId)
+        .orElseThrow(() -> new NoSuchElementException("User with id " + userId + " not found"));
+
+    var requestIds = findExistingRequestIds(itemDtos);
+    var results = new ArrayList<ItemImportResultDto>(itemDtos.size());
+    var items = new ArrayList<Item>(itemDtos.size());
+    for (var itemDto : itemDtos) {
+      var result = new ItemImportResultDto();
+      try {
+        checkFieldsFilled(itemDto);
+        if (itemDto.getRequestId() != null && !requestIds.contains(itemDto.getRequestId())) {
+          throw new IllegalArgumentException("Request with id " + itemDto.getRequestId() + " not found");
+        }
+        var item = ItemMapper.toItem(itemDto, userId);
+        item.setId(null);
+        items.add(item);
+      } catch (IllegalArgumentException e) {
+        result.setError(e.getMessage());
+      }
+      results.add(result);
+    }
+
+    var saved = storage.saveAll(items).iterator();
+    results.stream()
+        .filter(s -> s.getError() == null)
+        .forEach(s -> s.setId(saved.next().getId()));
+    var itemIds = items.stream()
+        .map(Item::getId)
+        .collect(Collectors.toList());
+    summaryService.initSummaries(itemIds);
+    items.stream()
+        .map(Item::getRequestId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(s -> eventPublisher.publishEvent(new ResourceChangedEvent(ResourceType.REQUEST, s)));
+    return results;
+  }
+
+  @Override
+  @Retryable(value = OptimisticLockingFailureException.class,
+      maxAttemptsExpression = "${shareit.optimistic-lock.max-attempts}",
+      backoff = @Backoff(delayExpression = "${shareit.optimistic-lock.backoff-ms}", multiplier = 2))
   public ItemDto updateItem(long userId, long itemId, ItemDto itemDto) {
     var itemPreviousVersion = storage.findById(itemId)
         .orElseThrow(() -> new NoSuchElementException("Previous version of item not found"));
@@ -60,19 +136,18 @@ public class ItemServiceImpl implements ItemService {
         .isAvailable(itemDto.getIsAvailable() != null ? itemDto.getIsAvailable() : itemPreviousVersion.getIsAvailable())
         .ownerId(itemPreviousVersion.getOwnerId())
         .requestId(itemPreviousVersion.getRequestId())
+        .version(itemPreviousVersion.getVersion())
         .build();
 
     var item = storage.save(updatedItem);
+    eventPublisher.publishEvent(new ResourceChangedEvent(ResourceType.ITEM, itemId));
+    publishRequestChanged(item);
     return ItemMapper.toItemDto(item);
   }
 
   @Override
   public ItemWithBookingInfoDto getItem(long userId, Long itemId) {
     var item = storage.findById(itemId).orElseThrow(NoSuchElementException::new);
-    var lastBooking = bookingRepository.findFirstByItemIdAndEndDateTimeBeforeOrderByEndDateTimeDesc(itemId,
-        LocalDateTime.now());
-    var nextBooking = bookingRepository.findFirstByItemIdAndStartDateTimeAfterOrderByEndDateTimeAsc(itemId,
-        LocalDateTime.now());
     var comments = commentRepository.findAllByItemId(itemId).stream()
         .map(CommentMapper::toCommentDto)
         .collect(Collectors.toList());
@@ -81,31 +156,65 @@ public class ItemServiceImpl implements ItemService {
     itemWithBookingInfoDto.setComments(comments);
 
     if (userId == item.getOwnerId()) {
-      itemWithBookingInfoDto.setLastBooking(BookingMapper.toBookingShortInfo(lastBooking));
-      itemWithBookingInfoDto.setNextBooking(BookingMapper.toBookingShortInfo(nextBooking));
+      var summary = summaryService.getSummaries(List.of(itemId)).get(itemId);
+      itemWithBookingInfoDto.setLastBooking(BookingMapper.toLastBookingShortInfo(summary));
+      itemWithBookingInfoDto.setNextBooking(BookingMapper.toNextBookingShortInfo(summary));
     }
 
     return itemWithBookingInfoDto;
   }
 
   @Override
-  public List<ItemWithBookingInfoDto> getItems(Long ownerId, Integer from, Integer size) {
+  public List<ItemWithBookingInfoDto> getItems(Long ownerId, Integer from, Integer size, PageCursor cursor) {
     Sort sort = Sort.by("id").ascending();
-    Pageable pageable = from != null && size != null
-        ? PageRequest.of(from / size, size, sort)
-        : PageRequest.of(0, Integer.MAX_VALUE, sort);
+    Pageable pageable;
+    if (cursor != null) {
+      pageable = PageRequest.of(0, size != null ? size : Integer.MAX_VALUE, sort);
+    } else {
+      pageable = from != null && size != null
+          ? PageRequest.of(from / size, size, sort)
+          : PageRequest.of(0, Integer.MAX_VALUE, sort);
+    }
 
-    return storage.findAllByOwnerId(ownerId, pageable)
-        .stream()
-        .map(s -> {
-          var lastBooking = bookingRepository.findFirstByItemIdAndEndDateTimeBeforeOrderByEndDateTimeDesc(s.getId(),
-              LocalDateTime.now());
-          var nextBooking = bookingRepository.findFirstByItemIdAndStartDateTimeAfterOrderByEndDateTimeAsc(s.getId(),
-              LocalDateTime.now());
+    var items = cursor != null
+        ? storage.findAllByOwnerIdAndIdGreaterThan(ownerId, cursor.getId(), pageable)
+        : storage.findAllByOwnerId(ownerId, pageable);
+    return toItemsWithBookingInfo(items);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void streamItems(long ownerId, Consumer<? super ItemWithBookingInfoDto> action) {
+    try (var items = storage.streamAllByOwnerIdOrderByIdAsc(ownerId)) {
+      var chunk = new ArrayList<Item>(STREAM_CHUNK_SIZE);
+      items.forEach(s -> {
+        chunk.add(s);
+        if (chunk.size() == STREAM_CHUNK_SIZE) {
+          toItemsWithBookingInfo(chunk).forEach(action);
+          chunk.clear();
+          em.clear();
+        }
+      });
+      toItemsWithBookingInfo(chunk).forEach(action);
+      em.clear();
+    }
+  }
+
+  private List<ItemWithBookingInfoDto> toItemsWithBookingInfo(List<Item> items) {
+    if (items.isEmpty()) {
+      return Collections.emptyList();
+    }
 
+    var itemIds = items.stream()
+        .map(Item::getId)
+        .collect(Collectors.toList());
+    var summaries = summaryService.getSummaries(itemIds);
+
+    return items.stream()
+        .map(s -> {
           var itemWithBookingInfoDto = ItemMapper.toItemDtoWithBookingInfoDto(s);
-          itemWithBookingInfoDto.setLastBooking(BookingMapper.toBookingShortInfo(lastBooking));
-          itemWithBookingInfoDto.setNextBooking(BookingMapper.toBookingShortInfo(nextBooking));
+          itemWithBookingInfoDto.setLastBooking(BookingMapper.toLastBookingShortInfo(summaries.get(s.getId())));
+          itemWithBookingInfoDto.setNextBooking(BookingMapper.toNextBookingShortInfo(summaries.get(s.getId())));
 
           return itemWithBookingInfoDto;
         })
@@ -122,7 +231,22 @@ public class ItemServiceImpl implements ItemService {
         ? PageRequest.of(from / size, size)
         : PageRequest.of(0, Integer.MAX_VALUE);
 
-    return storage.findAllByNameOrDescription(searchCriteria, pageable)
+    return searchIndex.search(searchCriteria, pageable)
+        .stream()
+        .map(ItemMapper::toItemDto)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<ItemDto> findAvailableItems(String text, LocalDateTime start, LocalDateTime end, int size,
+      PageCursor cursor) {
+    if (!start.isBefore(end)) {
+      throw new IllegalArgumentException("Start of the period must be before its end");
+    }
+
+    var pattern = StringUtils.isBlank(text) ? "%" : ItemSearchIndex.toContainsPattern(text);
+    var afterId = cursor != null ? cursor.getId() : 0L;
+    return storage.findAvailableInPeriod(pattern, start, end, afterId, PageRequest.of(0, size))
         .stream()
         .map(ItemMapper::toItemDto)
         .collect(Collectors.toList());
@@ -135,6 +259,17 @@ public class ItemServiceImpl implements ItemService {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public Map<Long, List<ItemDto>> findItemsByRequestIds(Collection<Long> requestIds) {
+    if (requestIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    return storage.findAllByRequestIdIn(requestIds).stream()
+        .map(ItemMapper::toItemDto)
+        .collect(Collectors.groupingBy(ItemDto::getRequestId));
+  }
+
   @Override
   public CommentDto addComment(long userId, long itemId, CommentDto commentDto) {
     var user = userRepository.findById(userId).orElseThrow();
@@ -145,11 +280,30 @@ public class ItemServiceImpl implements ItemService {
 
     var comment = commentRepository.save(CommentMapper.toComment(commentDto, userId, itemId));
     comment.setAuthor(user);
+    eventPublisher.publishEvent(new ResourceChangedEvent(ResourceType.ITEM, itemId));
 
     return CommentMapper.toCommentDto(comment);
   }
 
+  private void publishRequestChanged(Item item) {
+    if (item.getRequestId() != null) {
+      eventPublisher.publishEvent(new ResourceChangedEvent(ResourceType.REQUEST, item.getRequestId()));
+    }
+  }
+
+  private Set<Long> findExistingRequestIds(List<ItemDto> itemDtos) {
+    var requestIds = itemDtos.stream()
+        .filter(Objects::nonNull)
+        .map(ItemDto::getRequestId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    return requestIds.isEmpty() ? requestIds : requestRepository.findExistingIds(requestIds);
+  }
+
   private void checkFieldsFilled(ItemDto itemDto) {
+    if (itemDto == null) {
+      throw new IllegalArgumentException("Некорректно заполнены поля объекта item");
+    }
     var isNameFilledCorrectly = StringUtils.isNoneBlank(itemDto.getName());
     var isDescriptionFilledCorrectly = StringUtils.isNoneBlank(itemDto.getDescription());
     var isAvailableFilledCorrectly = itemDto.getIsAvailable() != null;
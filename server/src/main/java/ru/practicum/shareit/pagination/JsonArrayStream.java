@@ -0,0 +1,53 @@
+package ru.practicum.shareit.pagination;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public class JsonArrayStream {
+
+  public static ResponseEntity<StreamingResponseBody> toResponse(ObjectMapper mapper,
+      Consumer<Consumer<Object>> producer) {
+    disableETag();
+    StreamingResponseBody body = outputStream -> {
+      var generator = mapper.createGenerator(outputStream);
+      producer.accept(element -> writeElement(generator, element));
+      startArrayIfNeeded(generator);
+      generator.writeEndArray();
+      generator.close();
+    };
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(body);
+  }
+
+  public static void disableETag() {
+    var attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes instanceof ServletRequestAttributes) {
+      ShallowEtagHeaderFilter.disableContentCaching(((ServletRequestAttributes) attributes).getRequest());
+    }
+  }
+
+  private static void writeElement(JsonGenerator generator, Object element) {
+    try {
+      startArrayIfNeeded(generator);
+      generator.writeObject(element);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void startArrayIfNeeded(JsonGenerator generator) throws IOException {
+    if (generator.getOutputContext().inRoot()) {
+      generator.writeStartArray();
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class PageCursor {
+
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private static final String SEPARATOR = "|";
+
+  private final LocalDateTime sortValue;
+  private final long id;
+
+  public PageCursor(long id) {
+    this(null, id);
+  }
+
+  public String encode() {
+    var value = (sortValue != null ? sortValue.toString() : "") + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static PageCursor decode(String cursor) {
+    try {
+      var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      var separatorIndex = value.lastIndexOf(SEPARATOR);
+      var sortValue = value.substring(0, separatorIndex);
+      var id = Long.parseLong(value.substring(separatorIndex + 1));
+      return new PageCursor(sortValue.isEmpty() ? null : LocalDateTime.parse(sortValue), id);
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+  }
+
+  public static <T> ResponseEntity<List<T>> toResponse(List<T> page, Integer size,
+      Function<T, PageCursor> cursorExtractor) {
+    var response = ResponseEntity.ok();
+    if (size != null && !page.isEmpty() && page.size() == size) {
+      response.header(NEXT_CURSOR_HEADER, cursorExtractor.apply(page.get(page.size() - 1)).encode());
+    }
+    return response.body(page);
+  }
+}
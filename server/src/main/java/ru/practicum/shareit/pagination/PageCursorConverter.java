@@ -0,0 +1,13 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PageCursorConverter implements Converter<String, PageCursor> {
+
+  @Override
+  public PageCursor convert(String cursor) {
+    return PageCursor.decode(cursor);
+  }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.querycount;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.query-count.log-enabled", havingValue = "true")
+public class QueryCountFilter extends OncePerRequestFilter {
+
+  @Value("${shareit.query-count.log-threshold}")
+  private long threshold;
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    QueryCountInspector.reset();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      var count = QueryCountInspector.getCount();
+      if (count > threshold) {
+        log.warn("{} {} executed {} statements, threshold is {}", request.getMethod(), request.getRequestURI(),
+            count, threshold);
+      }
+    }
+  }
+}
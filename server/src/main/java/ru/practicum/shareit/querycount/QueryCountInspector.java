@@ -0,0 +1,40 @@
+package ru.practicum.shareit.querycount;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryCountInspector implements StatementInspector {
+
+  private static final ThreadLocal<MutableLong> COUNT = ThreadLocal.withInitial(MutableLong::new);
+  private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+  public static void reset() {
+    COUNT.get().setValue(0L);
+  }
+
+  public static long getCount() {
+    return COUNT.get().longValue();
+  }
+
+  public static void startCapture() {
+    CAPTURED.set(new ArrayList<>());
+  }
+
+  public static List<String> stopCapture() {
+    var captured = CAPTURED.get();
+    CAPTURED.remove();
+    return captured != null ? captured : List.of();
+  }
+
+  @Override
+  public String inspect(String sql) {
+    COUNT.get().increment();
+    var captured = CAPTURED.get();
+    if (captured != null) {
+      captured.add(sql);
+    }
+    return sql;
+  }
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.request;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,6 +13,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.pagination.JsonArrayStream;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -20,6 +25,7 @@ import ru.practicum.shareit.request.service.ItemRequestService;
 public class ItemRequestController {
 
   private final ItemRequestService itemRequestService;
+  private final ObjectMapper mapper;
 
   @PostMapping
   public ItemRequestDto createItemRequest(@RequestHeader("X-Sharer-User-Id") long requesterId,
@@ -33,10 +39,18 @@ public class ItemRequestController {
   }
 
   @GetMapping("/all")
-  public List<ItemRequestDto> getItemRequests(@RequestHeader("X-Sharer-User-Id") long requesterId,
+  public ResponseEntity<List<ItemRequestDto>> getItemRequests(@RequestHeader("X-Sharer-User-Id") long requesterId,
       @RequestParam(value = "from", required = false) Integer from,
-      @RequestParam(value = "size", required = false) Integer size) {
-    return itemRequestService.getItemRequests(requesterId, from, size);
+      @RequestParam(value = "size", required = false) Integer size,
+      @RequestParam(value = "cursor", required = false) PageCursor cursor) {
+    return PageCursor.toResponse(itemRequestService.getItemRequests(requesterId, from, size, cursor), size,
+        s -> new PageCursor(s.getCreated(), s.getId()));
+  }
+
+  @GetMapping(value = "/all", params = {"!from", "!size", "!cursor"})
+  public ResponseEntity<StreamingResponseBody> streamItemRequests(
+      @RequestHeader("X-Sharer-User-Id") long requesterId) {
+    return JsonArrayStream.toResponse(mapper, action -> itemRequestService.streamItemRequests(requesterId, action));
   }
 
   @GetMapping("/{requestId}")
@@ -1,14 +1,38 @@
 package ru.practicum.shareit.request.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 public interface RequestRepository extends JpaRepository<ItemRequest, Long> {
 
   List<ItemRequest> findAllByRequesterId(long userId, Sort sort);
 
+  @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN ?1")
+  Set<Long> findExistingIds(Collection<Long> ids);
+
   List<ItemRequest> findAllByRequesterIdNot(long userId, Pageable pageable);
+
+  @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+  Stream<ItemRequest> streamAllByRequesterIdNot(long userId, Sort sort);
+
+  @Query(value = "SELECT r "
+      + "FROM ItemRequest r "
+      + "WHERE r.requesterId <> ?1 "
+      + "AND r.createDateTime <= ?2 "
+      + "AND (r.createDateTime < ?2 OR (r.createDateTime = ?2 AND r.id < ?3))")
+  List<ItemRequest> findAllByRequesterIdNotAfter(long userId, LocalDateTime createDateTime, long id,
+      Pageable pageable);
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 public interface ItemRequestService {
@@ -9,7 +11,9 @@ public interface ItemRequestService {
 
   List<ItemRequestDto> getUserItemRequests(long userId);
 
-  List<ItemRequestDto> getItemRequests(long userId, Integer from, Integer size);
+  List<ItemRequestDto> getItemRequests(long userId, Integer from, Integer size, PageCursor cursor);
+
+  void streamItemRequests(long userId, Consumer<? super ItemRequestDto> action);
 
   ItemRequestDto getItemRequest(long userId, long requestId);
 }
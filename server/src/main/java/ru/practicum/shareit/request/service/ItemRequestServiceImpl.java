@@ -1,14 +1,21 @@
 package ru.practicum.shareit.request.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.repository.RequestRepository;
@@ -18,10 +25,15 @@ import ru.practicum.shareit.user.service.UserService;
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
+  private static final int STREAM_CHUNK_SIZE = 100;
+
   private final RequestRepository requestRepository;
   private final UserService userService;
   private final ItemService itemService;
 
+  @PersistenceContext
+  private EntityManager em;
+
   @Override
   public ItemRequestDto createItemRequest(long requesterId, ItemRequestDto requestDto) {
     userService.getUser(requesterId);
@@ -37,26 +49,55 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         .stream()
         .map(ItemRequestMapper::toItemRequestDto)
         .collect(Collectors.toList());
-    userRequests.forEach(s -> s.setItems(itemService.findItemByRequestId(s.getId())));
-    return userRequests;
+    return withItems(userRequests);
   }
 
   @Override
-  public List<ItemRequestDto> getItemRequests(long userId, Integer from, Integer size) {
+  public List<ItemRequestDto> getItemRequests(long userId, Integer from, Integer size, PageCursor cursor) {
     userService.getUser(userId);
-    Sort sort = Sort.by("createDateTime").descending();
-    Pageable pageable = from != null && size != null
-        ? PageRequest.of(from / size, size, sort)
-        : PageRequest.of(0, Integer.MAX_VALUE, sort);
+    if (cursor != null && cursor.getSortValue() == null) {
+      throw new IllegalArgumentException("Cursor doesn't belong to item request list");
+    }
+
+    Sort sort = Sort.by(Sort.Order.desc("createDateTime"), Sort.Order.desc("id"));
+    Pageable pageable;
+    if (cursor != null) {
+      pageable = PageRequest.of(0, size != null ? size : Integer.MAX_VALUE, sort);
+    } else {
+      pageable = from != null && size != null
+          ? PageRequest.of(from / size, size, sort)
+          : PageRequest.of(0, Integer.MAX_VALUE, sort);
+    }
 
-    var userRequests = requestRepository.findAllByRequesterIdNot(userId, pageable);
+    var userRequests = cursor != null
+        ? requestRepository.findAllByRequesterIdNotAfter(userId, cursor.getSortValue(), cursor.getId(), pageable)
+        : requestRepository.findAllByRequesterIdNot(userId, pageable);
 
     var userRequestsDto = userRequests.stream()
         .map(ItemRequestMapper::toItemRequestDto)
         .collect(Collectors.toList());
-    userRequestsDto.forEach(s -> s.setItems(itemService.findItemByRequestId(s.getId())));
+    return withItems(userRequestsDto);
+  }
 
-    return userRequestsDto;
+  @Override
+  @Transactional(readOnly = true)
+  public void streamItemRequests(long userId, Consumer<? super ItemRequestDto> action) {
+    userService.getUser(userId);
+    var sort = Sort.by(Sort.Order.desc("createDateTime"), Sort.Order.desc("id"));
+    try (var userRequests = requestRepository.streamAllByRequesterIdNot(userId, sort)) {
+      var chunk = new ArrayList<ItemRequestDto>(STREAM_CHUNK_SIZE);
+      userRequests.map(ItemRequestMapper::toItemRequestDto)
+          .forEach(s -> {
+            chunk.add(s);
+            if (chunk.size() == STREAM_CHUNK_SIZE) {
+              withItems(chunk).forEach(action);
+              chunk.clear();
+              em.clear();
+            }
+          });
+      withItems(chunk).forEach(action);
+      em.clear();
+    }
   }
 
   @Override
@@ -66,4 +107,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     itemRequestDto.setItems(itemService.findItemByRequestId(itemRequestDto.getId()));
     return itemRequestDto;
   }
+
+  private List<ItemRequestDto> withItems(List<ItemRequestDto> requests) {
+    var requestIds = requests.stream()
+        .map(ItemRequestDto::getId)
+        .collect(Collectors.toList());
+    var items = itemService.findItemsByRequestIds(requestIds);
+    requests.forEach(s -> s.setItems(items.getOrDefault(s.getId(), Collections.emptyList())));
+    return requests;
+  }
 }
@@ -6,7 +6,13 @@ import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.invalidation.ResourceChangedEvent;
+import ru.practicum.shareit.invalidation.ResourceType;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -17,6 +23,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 public class UserServiceImpl implements UserService {
 
   private final UserRepository storage;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public UserDto createUser(UserDto userDto) {
@@ -27,15 +34,20 @@ public class UserServiceImpl implements UserService {
   }
 
   @Override
+  @Retryable(value = OptimisticLockingFailureException.class,
+      maxAttemptsExpression = "${shareit.optimistic-lock.max-attempts}",
+      backoff = @Backoff(delayExpression = "${shareit.optimistic-lock.backoff-ms}", multiplier = 2))
   public UserDto updateUser(long userId, UserDto userDto) {
     var userPreviousVersion = storage.findById(userId).orElseThrow();
     var updatedUser = User.builder()
         .id(userId)
         .name(userDto.getName() != null ? userDto.getName() : userPreviousVersion.getName())
         .email(userDto.getEmail() != null ? userDto.getEmail() : userPreviousVersion.getEmail())
+        .version(userPreviousVersion.getVersion())
         .build();
 
     var user = storage.save(updatedUser);
+    eventPublisher.publishEvent(new ResourceChangedEvent(ResourceType.USER, userId));
     return UserMapper.toUserDto(user);
   }
 
@@ -55,6 +67,7 @@ public class UserServiceImpl implements UserService {
   @Override
   public void deleteUser(long userId) {
     storage.deleteById(userId);
+    eventPublisher.publishEvent(new ResourceChangedEvent(ResourceType.USER, userId));
   }
 
   private void checkEmailPresents(UserDto userDto) {
@@ -0,0 +1,53 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_approved_period ON bookings (item_id, end_date, start_date)
+  WHERE status = 'APPROVED';
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO 'DECLARE
+  conflict_count bigint;
+  conflicts text;
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_period'') THEN
+    SELECT COUNT(*), string_agg(pair, '', '') FILTER (WHERE n <= 50)
+      INTO conflict_count, conflicts
+      FROM (SELECT b1.id || ''/'' || b2.id AS pair, ROW_NUMBER() OVER (ORDER BY b1.id, b2.id) AS n
+              FROM bookings b1
+              JOIN bookings b2 ON b2.item_id = b1.item_id AND b2.id > b1.id
+               AND tsrange(b2.start_date, b2.end_date) && tsrange(b1.start_date, b1.end_date)
+             WHERE b1.status IN (''WAITING'', ''APPROVED'') AND b2.status IN (''WAITING'', ''APPROVED'')) p;
+    IF conflict_count > 0 THEN
+      RAISE EXCEPTION ''Cannot add ex_bookings_item_period: % pairs of WAITING/APPROVED bookings overlap on the same item (booking ids: %)'',
+        conflict_count, conflicts
+        USING HINT = ''Reject or cancel one booking of each pair before starting the server, see "Migrating an existing database" in README.md'';
+    END IF;
+    ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+      EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+      WHERE (status IN (''WAITING'', ''APPROVED''));
+  END IF;
+END';
+
+SELECT setval('users_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM users) t, users_seq s
+  WHERE t.max_id >= s.last_value;
+SELECT setval('requests_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM requests) t, requests_seq s
+  WHERE t.max_id >= s.last_value;
+SELECT setval('items_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM items) t, items_seq s
+  WHERE t.max_id >= s.last_value;
+SELECT setval('bookings_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM bookings) t, bookings_seq s
+  WHERE t.max_id >= s.last_value;
+SELECT setval('comments_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM comments) t, comments_seq s
+  WHERE t.max_id >= s.last_value;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
@@ -2,6 +2,7 @@ CREATE TABLE IF NOT EXISTS users (
   id int8 GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   name varchar,
   email varchar,
+  version int8 DEFAULT 0 NOT NULL,
   CONSTRAINT uq_email UNIQUE (email)
 );
 
@@ -18,7 +19,8 @@ CREATE TABLE IF NOT EXISTS items (
 	description varchar,
 	is_available boolean,
 	owner_id int8 REFERENCES users (id),
-	request_id int8 REFERENCES requests (id)
+	request_id int8 REFERENCES requests (id),
+	version int8 DEFAULT 0 NOT NULL
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
@@ -27,7 +29,8 @@ CREATE TABLE IF NOT EXISTS bookings (
 	end_date TIMESTAMP WITHOUT TIME ZONE,
 	item_id int8 REFERENCES items (id),
 	booker_id int8 REFERENCES users (id),
-	status varchar
+	status varchar,
+	version int8 DEFAULT 0 NOT NULL
 );
 
 CREATE TABLE IF NOT EXISTS comments (
@@ -36,4 +39,44 @@ CREATE TABLE IF NOT EXISTS comments (
 	item_id int8 REFERENCES items (id),
 	author_id int8 REFERENCES users (id),
 	create_datetime TIMESTAMP WITHOUT TIME ZONE
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+	item_id int8 PRIMARY KEY REFERENCES items (id),
+	last_booking_id int8,
+	last_booker_id int8,
+	last_start_date_time TIMESTAMP WITHOUT TIME ZONE,
+	last_end_date_time TIMESTAMP WITHOUT TIME ZONE,
+	next_booking_id int8,
+	next_booker_id int8,
+	next_start_date_time TIMESTAMP WITHOUT TIME ZONE,
+	next_end_date_time TIMESTAMP WITHOUT TIME ZONE,
+	approved_count int8,
+	refresh_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version int8 DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version int8 DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version int8 DEFAULT 0 NOT NULL;
+ALTER TABLE item_booking_summary DROP COLUMN IF EXISTS version;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end_date ON bookings (booker_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_date ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status ON bookings (booker_id, status);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end_date ON bookings (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_date ON bookings (item_id, start_date);
+DROP INDEX IF EXISTS idx_bookings_item_status;
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end_date ON bookings (item_id, status, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_end_date ON bookings (end_date, id);
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, create_date_time);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (create_date_time);
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_refresh_at ON item_booking_summary (refresh_at);
@@ -4,10 +4,13 @@ import static org.assertj.core.api.SoftAssertions.assertSoftly;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -16,6 +19,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -117,14 +121,42 @@ class BookingControllerTests {
             .isEqualTo(bookingCreateResponseDto));
   }
 
+  @Test
+  void streamAllBookingInfoTest() throws Exception {
+    var expected = List.of(bookingCreateResponseDto);
+    doAnswer(invocation -> {
+      Consumer<BookingCreateResponseDto> action = invocation.getArgument(2);
+      expected.forEach(action);
+      return null;
+    }).when(bookingService).streamAllBookingInfo(anyLong(), any(), any());
+
+    var result = mvc.perform(get("/bookings")
+            .header("X-Sharer-User-Id", user.getId())
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    var response = mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+    List<BookingCreateResponseDto> responseObject = mapper.readValue(response.getContentAsString(),
+        new TypeReference<>() {
+        });
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(responseObject)
+            .usingRecursiveComparison()
+            .isEqualTo(expected));
+  }
+
   @Test
   void getAllBookingInfoTest() throws Exception {
     var expectedBookings = List.of(bookingCreateResponseDto);
-    when(bookingService.getAllBookingInfo(anyLong(), any(), any(), any()))
+    when(bookingService.getAllBookingInfo(anyLong(), any(), any(), any(), any()))
         .thenReturn(expectedBookings);
 
     var response = mvc.perform(get("/bookings")
             .header("X-Sharer-User-Id", user.getId())
+            .param("from", "0")
+            .param("size", "10")
             .characterEncoding(StandardCharsets.UTF_8)
             .contentType(MediaType.APPLICATION_JSON)
             .accept(MediaType.APPLICATION_JSON))
@@ -139,14 +171,42 @@ class BookingControllerTests {
             .isEqualTo(expectedBookings));
   }
 
+  @Test
+  void streamAllOwnerBookingInfoTest() throws Exception {
+    var expected = List.of(bookingCreateResponseDto);
+    doAnswer(invocation -> {
+      Consumer<BookingCreateResponseDto> action = invocation.getArgument(2);
+      expected.forEach(action);
+      return null;
+    }).when(bookingService).streamAllOwnerBookingInfo(anyLong(), any(), any());
+
+    var result = mvc.perform(get("/bookings/owner")
+            .header("X-Sharer-User-Id", user.getId())
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    var response = mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+    List<BookingCreateResponseDto> responseObject = mapper.readValue(response.getContentAsString(),
+        new TypeReference<>() {
+        });
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(responseObject)
+            .usingRecursiveComparison()
+            .isEqualTo(expected));
+  }
+
   @Test
   void getAllOwnerBookingInfoTest() throws Exception {
     var expectedBookings = List.of(bookingCreateResponseDto);
-    when(bookingService.getAllOwnerBookingInfo(anyLong(), any(), any(), any()))
+    when(bookingService.getAllOwnerBookingInfo(anyLong(), any(), any(), any(), any()))
         .thenReturn(expectedBookings);
 
     var response = mvc.perform(get("/bookings/owner")
             .header("X-Sharer-User-Id", user.getId())
+            .param("from", "0")
+            .param("size", "10")
             .characterEncoding(StandardCharsets.UTF_8)
             .contentType(MediaType.APPLICATION_JSON)
             .accept(MediaType.APPLICATION_JSON))
@@ -160,4 +220,63 @@ class BookingControllerTests {
             .usingRecursiveComparison()
             .isEqualTo(expectedBookings));
   }
+
+  @Test
+  void exportOwnerBookingsAsCsvTest() throws Exception {
+    bookingCreateResponseDto.setBooker(new User(2L, "Smith, \"Jr\"", "smith@email.com"));
+    doAnswer(invocation -> {
+      Consumer<BookingCreateResponseDto> action = invocation.getArgument(2);
+      action.accept(bookingCreateResponseDto);
+      return null;
+    }).when(bookingService).streamAllOwnerBookingInfo(anyLong(), any(), any());
+
+    var result = mvc.perform(get("/bookings/owner/export")
+            .header("X-Sharer-User-Id", user.getId())
+            .param("format", "csv"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    var response = mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+    var content = response.getContentAsString(StandardCharsets.UTF_8);
+    var expected = "id,start,end,status,item_id,item_name,booker_id,booker_name,booker_email\n"
+        + "1," + bookingCreateResponseDto.getStartDateTime() + "," + bookingCreateResponseDto.getEndDateTime()
+        + ",,,,2,\"Smith, \"\"Jr\"\"\",smith@email.com\n";
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(response.getContentType())
+          .startsWith("text/csv");
+      softAssertions.assertThat(content)
+          .isEqualTo(expected);
+    });
+  }
+
+  @Test
+  void exportOwnerBookingsAsNdjsonTest() throws Exception {
+    var expected = List.of(bookingCreateResponseDto, bookingCreateResponseDto);
+    doAnswer(invocation -> {
+      Consumer<BookingCreateResponseDto> action = invocation.getArgument(2);
+      expected.forEach(action);
+      return null;
+    }).when(bookingService).streamAllOwnerBookingInfo(anyLong(), any(), any());
+
+    var result = mvc.perform(get("/bookings/owner/export")
+            .header("X-Sharer-User-Id", user.getId())
+            .param("format", "ndjson"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    var response = mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+    var lines = response.getContentAsString().split("\n");
+    var lastBooking = mapper.readValue(lines[1], BookingCreateResponseDto.class);
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(response.getContentType())
+          .isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+      softAssertions.assertThat(lines)
+          .hasSize(2);
+      softAssertions.assertThat(lastBooking)
+          .usingRecursiveComparison()
+          .isEqualTo(bookingCreateResponseDto);
+    });
+  }
 }
@@ -2,7 +2,9 @@ package ru.practicum.shareit.controller;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -15,11 +17,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.commonhandler.ErrorResponse;
 import ru.practicum.shareit.item.exception.NoPermitsException;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 @WebMvcTest(controllers = UserController.class)
@@ -112,4 +116,22 @@ class ExceptionHandlerTests {
         softAssertions.assertThat(responseObject.getError())
             .isEqualTo("IllegalArgumentException"));
   }
+
+  @Test
+  void updateUserWithOptimisticLockingFailureExceptionTest() throws Exception {
+    when(userService.updateUser(anyLong(), any()))
+        .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+
+    var response = mvc.perform(patch("/users/{userId}", userDto.getId())
+            .content(mapper.writeValueAsString(userDto))
+            .characterEncoding(StandardCharsets.UTF_8)
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isConflict())
+        .andReturn().getResponse();
+    var responseObject = mapper.readValue(response.getContentAsString(), ErrorResponse.class);
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(responseObject.getError())
+            .isEqualTo("Resource was modified concurrently, please retry the request"));
+  }
 }
@@ -2,12 +2,17 @@ package ru.practicum.shareit.controller;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -15,21 +20,29 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.ETagConfig;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(ETagConfig.class)
 class ItemControllerTest {
 
   @Autowired
@@ -38,6 +51,9 @@ class ItemControllerTest {
   @MockBean
   private ItemService itemService;
 
+  @MockBean
+  private ItemImportService itemImportService;
+
   @Autowired
   private MockMvc mvc;
 
@@ -84,6 +100,28 @@ class ItemControllerTest {
             .isEqualTo(itemDto));
   }
 
+  @Test
+  void importItemsTest() throws Exception {
+    var expected = List.of(new ItemImportResultDto(1, 1L, null), new ItemImportResultDto(2, null, "error"));
+    when(itemImportService.importItems(anyLong(), any())).thenReturn(expected);
+
+    var response = mvc.perform(post("/items/bulk")
+            .content(mapper.writeValueAsString(itemDto) + "\n" + mapper.writeValueAsString(itemDto))
+            .header("X-Sharer-User-Id", user.getId())
+            .characterEncoding(StandardCharsets.UTF_8)
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+    List<ItemImportResultDto> responseObject = mapper.readValue(response.getContentAsString(),
+        new TypeReference<>() {
+        });
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(responseObject)
+            .usingRecursiveComparison()
+            .isEqualTo(expected));
+  }
+
   @Test
   void updateItemTest() throws Exception {
     when(itemService.updateItem(anyLong(), anyLong(), any())).thenReturn(itemDto);
@@ -121,13 +159,64 @@ class ItemControllerTest {
             .isEqualTo(itemWithBookingInfoDto));
   }
 
+  @Test
+  void getItemNotModifiedTest() throws Exception {
+    when(itemService.getItem(anyLong(), anyLong())).thenReturn(itemWithBookingInfoDto);
+
+    var eTag = mvc.perform(get("/items/{itemId}", itemDto.getId())
+            .header("X-Sharer-User-Id", user.getId())
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    var response = mvc.perform(get("/items/{itemId}", itemDto.getId())
+            .header("X-Sharer-User-Id", user.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isNotModified())
+        .andReturn().getResponse();
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(eTag)
+          .startsWith("\"");
+      softAssertions.assertThat(response.getContentLength())
+          .isZero();
+    });
+  }
+
+  @Test
+  void streamItemsTest() throws Exception {
+    var expected = List.of(itemWithBookingInfoDto);
+    doAnswer(invocation -> {
+      Consumer<ItemWithBookingInfoDto> action = invocation.getArgument(1);
+      expected.forEach(action);
+      return null;
+    }).when(itemService).streamItems(anyLong(), any());
+
+    var result = mvc.perform(get("/items")
+            .header("X-Sharer-User-Id", user.getId())
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    var response = mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+    List<ItemWithBookingInfoDto> responseObject = mapper.readValue(response.getContentAsString(),
+        new TypeReference<>() {
+        });
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(responseObject)
+            .usingRecursiveComparison()
+            .isEqualTo(expected));
+  }
+
   @Test
   void getItemsTest() throws Exception {
     var items = List.of(itemWithBookingInfoDto);
-    when(itemService.getItems(anyLong(), any(), any())).thenReturn(items);
+    when(itemService.getItems(anyLong(), any(), any(), any())).thenReturn(items);
 
     var response = mvc.perform(get("/items")
             .header("X-Sharer-User-Id", user.getId())
+            .param("from", "0")
+            .param("size", "10")
             .characterEncoding(StandardCharsets.UTF_8)
             .contentType(MediaType.APPLICATION_JSON)
             .accept(MediaType.APPLICATION_JSON))
@@ -164,6 +253,30 @@ class ItemControllerTest {
             .isEqualTo(items));
   }
 
+  @Test
+  void findAvailableItemsTest() throws Exception {
+    var items = List.of(itemDto);
+    when(itemService.findAvailableItems(anyString(), any(), any(), anyInt(), any())).thenReturn(items);
+
+    var response = mvc.perform(get("/items/available")
+            .param("start", "2030-01-01T10:00:00")
+            .param("end", "2030-01-02T10:00:00")
+            .param("text", "searchedText")
+            .param("size", "1")
+            .header("X-Sharer-User-Id", user.getId())
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(PageCursor.NEXT_CURSOR_HEADER))
+        .andReturn().getResponse();
+    List<ItemDto> responseObject = mapper.readValue(response.getContentAsString(),
+        new TypeReference<>() {
+        });
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(responseObject)
+            .usingRecursiveComparison()
+            .isEqualTo(items));
+  }
+
   @Test
   void addCommentTest() throws Exception {
     var comment = CommentDto.builder()
@@ -3,9 +3,12 @@ package ru.practicum.shareit.controller;
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -13,6 +16,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -91,13 +95,41 @@ class ItemRequestControllerTests {
             .isEqualTo(itemRequests));
   }
 
+  @Test
+  void streamItemRequestsTest() throws Exception {
+    var expected = List.of(itemRequestDto);
+    doAnswer(invocation -> {
+      Consumer<ItemRequestDto> action = invocation.getArgument(1);
+      expected.forEach(action);
+      return null;
+    }).when(itemRequestService).streamItemRequests(anyLong(), any());
+
+    var result = mvc.perform(get("/requests/all")
+            .header("X-Sharer-User-Id", user.getId())
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    var response = mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+    List<ItemRequestDto> responseObject = mapper.readValue(response.getContentAsString(),
+        new TypeReference<>() {
+        });
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(responseObject)
+            .usingRecursiveComparison()
+            .isEqualTo(expected));
+  }
+
   @Test
   void getItemRequestsTest() throws Exception {
     var itemRequests = List.of(itemRequestDto);
-    when(itemRequestService.getItemRequests(anyLong(), any(), any())).thenReturn(itemRequests);
+    when(itemRequestService.getItemRequests(anyLong(), any(), any(), any())).thenReturn(itemRequests);
 
     var response = mvc.perform(get("/requests/all")
             .header("X-Sharer-User-Id", user.getId())
+            .param("from", "0")
+            .param("size", "10")
             .characterEncoding(StandardCharsets.UTF_8)
             .contentType(MediaType.APPLICATION_JSON)
             .accept(MediaType.APPLICATION_JSON))
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.integration;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingExportTests {
+
+  private static final long TOMCAT_ASYNC_TIMEOUT_MS = 500;
+  private static final int ROWS = 5;
+
+  @Autowired
+  private TestRestTemplate rest;
+
+  @MockBean
+  private BookingService bookingService;
+
+  @Test
+  void exportFromSlowProducerTest() {
+    doAnswer(invocation -> {
+      Consumer<BookingCreateResponseDto> action = invocation.getArgument(2);
+      for (var i = 1L; i <= ROWS; i++) {
+        Thread.sleep(TOMCAT_ASYNC_TIMEOUT_MS / 2);
+        action.accept(BookingCreateResponseDto.builder().id(i).build());
+      }
+      return null;
+    }).when(bookingService).streamAllOwnerBookingInfo(anyLong(), any(), any());
+
+    var headers = new HttpHeaders();
+    headers.set("X-Sharer-User-Id", "1");
+    var response = rest.exchange("/bookings/owner/export?format=ndjson", HttpMethod.GET, new HttpEntity<>(headers),
+        String.class);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(response.getStatusCode())
+          .isEqualTo(HttpStatus.OK);
+      softAssertions.assertThat(response.getBody())
+          .hasLineCount(ROWS);
+    });
+  }
+
+  @TestConfiguration
+  static class ShortTomcatAsyncTimeoutConfig {
+
+    @Bean
+    public TomcatConnectorCustomizer shortAsyncTimeoutCustomizer() {
+      return connector -> connector.setAsyncTimeout(TOMCAT_ASYNC_TIMEOUT_MS);
+    }
+  }
+}
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.integration;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.querycount.QueryCountAssertions.assertMaxQueries;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
@@ -10,11 +14,17 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingFilter;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 
 @SpringBootTest
@@ -24,6 +34,7 @@ class BookingTest {
 
   private final EntityManager em;
   private final BookingService bookingService;
+  private final ItemBookingSummaryRepository summaryRepository;
 
   @Test
   void getAllBookingInfoTest() {
@@ -49,7 +60,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.ALL, null, null);
+    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.ALL, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -80,7 +91,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.WAITING, null, null);
+    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.WAITING, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -111,7 +122,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.REJECTED, null, null);
+    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.REJECTED, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -142,7 +153,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.PAST, null, null);
+    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.PAST, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -173,7 +184,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.FUTURE, null, null);
+    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.FUTURE, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -204,7 +215,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.CURRENT, null, null);
+    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.CURRENT, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -235,7 +246,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.CURRENT, 0, 2);
+    var targetBookings = bookingService.getAllBookingInfo(user.getId(), BookingFilter.CURRENT, 0, 2, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -265,12 +276,44 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.ALL, null, null);
+    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.ALL, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
   }
 
+  @Test
+  void getAllOwnerBookingInfoQueryCountTest() {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    em.persist(owner);
+    for (var i = 0; i < 5; i++) {
+      var booker = new User(null, "bookerName" + i, "booker" + i + "@mail.com");
+      em.persist(booker);
+      var item = Item.builder()
+          .name("itemName" + i)
+          .ownerId(owner.getId())
+          .description("itemDescription")
+          .isAvailable(true)
+          .build();
+      em.persist(item);
+      em.persist(Booking.builder()
+          .item(item)
+          .booker(booker)
+          .startDateTime(LocalDateTime.now().plusDays(i + 1))
+          .endDateTime(LocalDateTime.now().plusDays(i + 2))
+          .status(BookingStatus.WAITING)
+          .build());
+    }
+    em.flush();
+    em.clear();
+
+    var targetBookings = assertMaxQueries(2, () ->
+        bookingService.getAllOwnerBookingInfo(owner.getId(), BookingFilter.ALL, 0, 10, null));
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(targetBookings.size())
+            .isEqualTo(5));
+  }
+
   @Test
   void getAllOwnerBookingInfoPastTest() {
     var user = new User(null, "authorName", "mail@mail.com");
@@ -295,7 +338,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.PAST, null, null);
+    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.PAST, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -325,7 +368,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.FUTURE, null, null);
+    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.FUTURE, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -356,7 +399,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.WAITING, null, null);
+    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.WAITING, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -387,7 +430,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.REJECTED, null, null);
+    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.REJECTED, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -418,7 +461,7 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.CURRENT, null, null);
+    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.CURRENT, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
@@ -449,9 +492,258 @@ class BookingTest {
     }
     em.flush();
 
-    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.CURRENT, 0, 2);
+    var targetBookings = bookingService.getAllOwnerBookingInfo(user.getId(), BookingFilter.CURRENT, 0, 2, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetBookings.size())
             .isEqualTo(sourceBookings.size()));
   }
+
+  @Test
+  void bookItemRefreshesItemBookingSummaryWithCalendarsTest() {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    var booker = new User(null, "bookerName", "booker@mail.com");
+    em.persist(owner);
+    em.persist(booker);
+
+    var item = Item.builder()
+        .name("itemName")
+        .description("itemDescription")
+        .isAvailable(true)
+        .ownerId(owner.getId())
+        .build();
+    em.persist(item);
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    var requestDto = BookingCreateRequestDto.builder()
+        .itemId(item.getId())
+        .startDateTime(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS))
+        .endDateTime(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS))
+        .build();
+    var booking = bookingService.bookItem(booker.getId(), requestDto);
+    bookingService.decidingOnRequest(owner.getId(), booking.getId(), true);
+
+    TestTransaction.start();
+    try {
+      var summary = summaryRepository.findById(item.getId()).orElseThrow();
+      assertSoftly(softAssertions -> {
+        softAssertions.assertThat(summary.getNextBookingId())
+            .isEqualTo(booking.getId());
+        softAssertions.assertThat(summary.getApprovedCount())
+            .isEqualTo(1L);
+      });
+    } finally {
+      summaryRepository.deleteById(item.getId());
+      em.remove(em.find(Booking.class, booking.getId()));
+      em.remove(em.find(Item.class, item.getId()));
+      em.remove(em.find(User.class, booker.getId()));
+      em.remove(em.find(User.class, owner.getId()));
+      TestTransaction.flagForCommit();
+    }
+  }
+
+  @Test
+  void bookItemOverlapTest() {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    var booker = new User(null, "bookerName", "booker@mail.com");
+    em.persist(owner);
+    em.persist(booker);
+
+    var item = Item.builder()
+        .name("itemName")
+        .description("itemDescription")
+        .isAvailable(true)
+        .ownerId(owner.getId())
+        .build();
+    em.persist(item);
+    em.flush();
+
+    var start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    bookingService.bookItem(booker.getId(), BookingCreateRequestDto.builder()
+        .itemId(item.getId())
+        .startDateTime(start)
+        .endDateTime(start.plusDays(2))
+        .build());
+    var adjacentBooking = bookingService.bookItem(booker.getId(), BookingCreateRequestDto.builder()
+        .itemId(item.getId())
+        .startDateTime(start.plusDays(2))
+        .endDateTime(start.plusDays(3))
+        .build());
+
+    var overlappingRequest = BookingCreateRequestDto.builder()
+        .itemId(item.getId())
+        .startDateTime(start.plusDays(1))
+        .endDateTime(start.plusDays(4))
+        .build();
+    assertThrows(BookingConflictException.class, () -> bookingService.bookItem(booker.getId(), overlappingRequest));
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(adjacentBooking.getId())
+            .isNotNull());
+  }
+
+  @Test
+  void getAllOwnerBookingInfoCursorPageTest() {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    var booker = new User(null, "bookerName", "booker@mail.com");
+    em.persist(owner);
+    em.persist(booker);
+    var item = Item.builder()
+        .name("itemName")
+        .ownerId(owner.getId())
+        .description("itemDescription")
+        .isAvailable(true)
+        .build();
+    em.persist(item);
+
+    var endDateTime = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    var sourceBookings = List.of(
+        Booking.builder()
+            .item(item)
+            .booker(booker)
+            .startDateTime(endDateTime.minusDays(3))
+            .endDateTime(endDateTime.minusDays(1))
+            .status(BookingStatus.APPROVED)
+            .build(),
+        Booking.builder()
+            .item(item)
+            .booker(booker)
+            .startDateTime(endDateTime.minusDays(2))
+            .endDateTime(endDateTime)
+            .status(BookingStatus.APPROVED)
+            .build(),
+        Booking.builder()
+            .item(item)
+            .booker(booker)
+            .startDateTime(endDateTime.minusDays(2))
+            .endDateTime(endDateTime)
+            .status(BookingStatus.APPROVED)
+            .build()
+    );
+    for (var booking : sourceBookings) {
+      em.persist(booking);
+    }
+    em.flush();
+
+    var firstPage = bookingService.getAllOwnerBookingInfo(owner.getId(), BookingFilter.PAST, 0, 2, null);
+    var lastBooking = firstPage.get(firstPage.size() - 1);
+    var cursor = PageCursor.decode(new PageCursor(lastBooking.getEndDateTime(), lastBooking.getId()).encode());
+    var secondPage = bookingService.getAllOwnerBookingInfo(owner.getId(), BookingFilter.PAST, null, 2, cursor);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(firstPage)
+          .extracting(BookingCreateResponseDto::getId)
+          .containsExactly(sourceBookings.get(2).getId(), sourceBookings.get(1).getId());
+      softAssertions.assertThat(secondPage)
+          .extracting(BookingCreateResponseDto::getId)
+          .containsExactly(sourceBookings.get(0).getId());
+    });
+  }
+
+  @Test
+  void getAllBookingInfoCurrentCursorPageTest() {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    var booker = new User(null, "bookerName", "booker@mail.com");
+    em.persist(owner);
+    em.persist(booker);
+    var item = Item.builder()
+        .name("itemName")
+        .ownerId(owner.getId())
+        .description("itemDescription")
+        .isAvailable(true)
+        .build();
+    em.persist(item);
+
+    var now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    var sourceBookings = List.of(
+        Booking.builder()
+            .item(item)
+            .booker(booker)
+            .startDateTime(now.minusDays(1))
+            .endDateTime(now.plusDays(3))
+            .status(BookingStatus.APPROVED)
+            .build(),
+        Booking.builder()
+            .item(item)
+            .booker(booker)
+            .startDateTime(now.minusDays(3))
+            .endDateTime(now.plusDays(2))
+            .status(BookingStatus.APPROVED)
+            .build(),
+        Booking.builder()
+            .item(item)
+            .booker(booker)
+            .startDateTime(now.minusDays(2))
+            .endDateTime(now.plusDays(1))
+            .status(BookingStatus.APPROVED)
+            .build()
+    );
+    for (var booking : sourceBookings) {
+      em.persist(booking);
+    }
+    em.flush();
+
+    var bookerFirstPage = bookingService.getAllBookingInfo(booker.getId(), BookingFilter.CURRENT, 0, 2, null);
+    var bookerSecondPage = bookingService.getAllBookingInfo(booker.getId(), BookingFilter.CURRENT, null, 2,
+        nextCursor(bookerFirstPage));
+    var ownerFirstPage = bookingService.getAllOwnerBookingInfo(owner.getId(), BookingFilter.CURRENT, 0, 2, null);
+    var ownerSecondPage = bookingService.getAllOwnerBookingInfo(owner.getId(), BookingFilter.CURRENT, null, 2,
+        nextCursor(ownerFirstPage));
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(bookerFirstPage)
+          .extracting(BookingCreateResponseDto::getId)
+          .containsExactly(sourceBookings.get(0).getId(), sourceBookings.get(1).getId());
+      softAssertions.assertThat(bookerSecondPage)
+          .extracting(BookingCreateResponseDto::getId)
+          .containsExactly(sourceBookings.get(2).getId());
+      softAssertions.assertThat(ownerFirstPage)
+          .extracting(BookingCreateResponseDto::getId)
+          .containsExactly(sourceBookings.get(0).getId(), sourceBookings.get(1).getId());
+      softAssertions.assertThat(ownerSecondPage)
+          .extracting(BookingCreateResponseDto::getId)
+          .containsExactly(sourceBookings.get(2).getId());
+    });
+  }
+
+  @Test
+  void streamAllOwnerBookingInfoTest() {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    var booker = new User(null, "bookerName", "booker@mail.com");
+    em.persist(owner);
+    em.persist(booker);
+    var item = Item.builder()
+        .name("itemName")
+        .ownerId(owner.getId())
+        .description("itemDescription")
+        .isAvailable(true)
+        .build();
+    em.persist(item);
+    for (var i = 1; i <= 3; i++) {
+      em.persist(Booking.builder()
+          .item(item)
+          .booker(booker)
+          .startDateTime(LocalDateTime.now().minusDays(i + 1).truncatedTo(ChronoUnit.SECONDS))
+          .endDateTime(LocalDateTime.now().minusDays(i).truncatedTo(ChronoUnit.SECONDS))
+          .status(BookingStatus.APPROVED)
+          .build());
+    }
+    em.flush();
+
+    var streamedBookings = new ArrayList<BookingCreateResponseDto>();
+    bookingService.streamAllOwnerBookingInfo(owner.getId(), BookingFilter.PAST, streamedBookings::add);
+    var pagedBookings = bookingService.getAllOwnerBookingInfo(owner.getId(), BookingFilter.PAST, 0, 10, null);
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(streamedBookings)
+          .hasSize(3)
+          .usingRecursiveComparison()
+          .isEqualTo(pagedBookings);
+      softAssertions.assertThat(streamedBookings.get(0).getBooker().getId())
+          .isEqualTo(booker.getId());
+    });
+  }
+
+  private static PageCursor nextCursor(List<BookingCreateResponseDto> page) {
+    var lastBooking = page.get(page.size() - 1);
+    return PageCursor.decode(new PageCursor(lastBooking.getEndDateTime(), lastBooking.getId()).encode());
+  }
 }
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.integration;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCreateResponseDto;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+@SpringBootTest(properties = {
+    "shareit.booking-calendar.enabled=false",
+    "shareit.booking.lock-item-on-booking=false"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemBookingSummaryTests {
+
+  private static final int CONCURRENT_BOOKINGS = 4;
+
+  private final EntityManager em;
+  private final BookingService bookingService;
+  private final ItemBookingSummaryRepository summaryRepository;
+
+  @Test
+  void bookItemRefreshesItemBookingSummaryTest() {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    var booker = new User(null, "bookerName", "booker@mail.com");
+    em.persist(owner);
+    em.persist(booker);
+
+    var item = Item.builder()
+        .name("itemName")
+        .description("itemDescription")
+        .isAvailable(true)
+        .ownerId(owner.getId())
+        .build();
+    em.persist(item);
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    try {
+      var requestDto = BookingCreateRequestDto.builder()
+          .itemId(item.getId())
+          .startDateTime(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS))
+          .endDateTime(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS))
+          .build();
+      var booking = bookingService.bookItem(booker.getId(), requestDto);
+      bookingService.decidingOnRequest(owner.getId(), booking.getId(), true);
+
+      var summary = summaryRepository.findById(item.getId()).orElseThrow();
+      assertSoftly(softAssertions -> {
+        softAssertions.assertThat(summary.getNextBookingId())
+            .isEqualTo(booking.getId());
+        softAssertions.assertThat(summary.getNextBookerId())
+            .isEqualTo(booker.getId());
+        softAssertions.assertThat(summary.getLastBookingId())
+            .isNull();
+        softAssertions.assertThat(summary.getApprovedCount())
+            .isEqualTo(1L);
+        softAssertions.assertThat(summary.getRefreshAt())
+            .isEqualTo(requestDto.getStartDateTime());
+      });
+    } finally {
+      removeCommitted(item, owner, booker);
+    }
+  }
+
+  @Test
+  void concurrentBookingsOfItemRefreshItemBookingSummaryTest() throws Exception {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    var booker = new User(null, "bookerName", "booker@mail.com");
+    em.persist(owner);
+    em.persist(booker);
+
+    var item = Item.builder()
+        .name("itemName")
+        .description("itemDescription")
+        .isAvailable(true)
+        .ownerId(owner.getId())
+        .build();
+    em.persist(item);
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    var executor = Executors.newFixedThreadPool(CONCURRENT_BOOKINGS);
+    try {
+      var now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+      var ready = new CountDownLatch(1);
+      var tasks = new ArrayList<Callable<BookingCreateResponseDto>>();
+      for (int i = 0; i < CONCURRENT_BOOKINGS; i++) {
+        var requestDto = BookingCreateRequestDto.builder()
+            .itemId(item.getId())
+            .startDateTime(now.plusDays(i + 1))
+            .endDateTime(now.plusDays(i + 1).plusHours(12))
+            .build();
+        tasks.add(() -> {
+          ready.await();
+          return bookingService.bookItem(booker.getId(), requestDto);
+        });
+      }
+      var futures = new ArrayList<Future<BookingCreateResponseDto>>();
+      for (var task : tasks) {
+        futures.add(executor.submit(task));
+      }
+      ready.countDown();
+
+      var bookings = new ArrayList<BookingCreateResponseDto>();
+      for (var future : futures) {
+        bookings.add(future.get());
+      }
+      for (var booking : bookings) {
+        bookingService.decidingOnRequest(owner.getId(), booking.getId(), true);
+      }
+
+      var firstBooking = bookings.stream()
+          .min(Comparator.comparing(BookingCreateResponseDto::getStartDateTime))
+          .orElseThrow();
+      var summary = summaryRepository.findById(item.getId()).orElseThrow();
+      assertSoftly(softAssertions -> {
+        softAssertions.assertThat(bookings)
+            .hasSize(CONCURRENT_BOOKINGS);
+        softAssertions.assertThat(summary.getNextBookingId())
+            .isEqualTo(firstBooking.getId());
+        softAssertions.assertThat(summary.getApprovedCount())
+            .isEqualTo((long) CONCURRENT_BOOKINGS);
+      });
+    } finally {
+      executor.shutdownNow();
+      removeCommitted(item, owner, booker);
+    }
+  }
+
+  private void removeCommitted(Item item, User... users) {
+    TestTransaction.start();
+    em.createQuery("DELETE FROM ItemBookingSummary s WHERE s.itemId = :itemId")
+        .setParameter("itemId", item.getId())
+        .executeUpdate();
+    em.createQuery("DELETE FROM Booking b WHERE b.item.id = :itemId")
+        .setParameter("itemId", item.getId())
+        .executeUpdate();
+    em.remove(em.find(Item.class, item.getId()));
+    for (var user : users) {
+      em.remove(em.find(User.class, user.getId()));
+    }
+    TestTransaction.flagForCommit();
+  }
+}
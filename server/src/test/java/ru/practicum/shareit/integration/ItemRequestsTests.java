@@ -1,15 +1,19 @@
 package ru.practicum.shareit.integration;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static ru.practicum.shareit.querycount.QueryCountAssertions.assertMaxQueries;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -70,12 +74,47 @@ class ItemRequestsTests {
     }
     em.flush();
 
-    var targetItemRequests = itemRequestService.getItemRequests(notOwnerUser.getId(), null, null);
+    var targetItemRequests = itemRequestService.getItemRequests(notOwnerUser.getId(), null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetItemRequests.size())
             .isEqualTo(sourceItemRequests.size()));
   }
 
+  @Test
+  void getItemRequestsQueryCountTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    var notOwnerUser = new User(null, "notOwnerName", "mail1@mail.com");
+    em.persist(user);
+    em.persist(notOwnerUser);
+    for (var i = 0; i < 5; i++) {
+      var request = ItemRequest.builder()
+          .description("itemRequestDescription" + i)
+          .requesterId(user.getId())
+          .createDateTime(LocalDateTime.now())
+          .build();
+      em.persist(request);
+      em.persist(Item.builder()
+          .name("itemName" + i)
+          .description("itemDescription")
+          .isAvailable(true)
+          .ownerId(notOwnerUser.getId())
+          .requestId(request.getId())
+          .build());
+    }
+    em.flush();
+    em.clear();
+
+    var otherRequests = assertMaxQueries(3, () ->
+        itemRequestService.getItemRequests(notOwnerUser.getId(), 0, 10, null));
+    var userRequests = assertMaxQueries(3, () -> itemRequestService.getUserItemRequests(user.getId()));
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(otherRequests)
+          .allSatisfy(s -> softAssertions.assertThat(s.getItems()).hasSize(1));
+      softAssertions.assertThat(userRequests)
+          .allSatisfy(s -> softAssertions.assertThat(s.getItems()).hasSize(1));
+    });
+  }
+
   @Test
   void getItemRequestsPageTest() {
     var user = new User(null, "authorName", "mail@mail.com");
@@ -99,7 +138,7 @@ class ItemRequestsTests {
     }
     em.flush();
 
-    var targetItemRequests = itemRequestService.getItemRequests(notOwnerUser.getId(), 0, 2);
+    var targetItemRequests = itemRequestService.getItemRequests(notOwnerUser.getId(), 0, 2, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetItemRequests.size())
             .isEqualTo(sourceItemRequests.size()));
@@ -155,4 +194,34 @@ class ItemRequestsTests {
             .ignoringFields("id", "items")
             .isEqualTo(ItemRequestMapper.toItemRequestDto(sourceItemRequest)));
   }
-}
\ No newline at end of file
+
+  @Test
+  void streamItemRequestsDetachesChunksTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    var requester = new User(null, "requesterName", "requester@mail.com");
+    em.persist(user);
+    em.persist(requester);
+    for (var i = 0; i < 250; i++) {
+      em.persist(ItemRequest.builder()
+          .description("requestDescription" + i)
+          .createDateTime(LocalDateTime.now())
+          .requesterId(requester.getId())
+          .build());
+    }
+    em.flush();
+    em.clear();
+
+    var session = em.unwrap(Session.class);
+    var managedEntities = new ArrayList<Integer>();
+    itemRequestService.streamItemRequests(user.getId(),
+        s -> managedEntities.add(session.getStatistics().getEntityCount()));
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(managedEntities)
+          .hasSize(250);
+      softAssertions.assertThat(managedEntities)
+          .allMatch(s -> s <= 101);
+      softAssertions.assertThat(session.getStatistics().getEntityCount())
+          .isZero();
+    });
+  }
+}
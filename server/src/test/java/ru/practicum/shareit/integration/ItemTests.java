@@ -1,21 +1,33 @@
 package ru.practicum.shareit.integration;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static ru.practicum.shareit.querycount.QueryCountAssertions.assertMaxQueries;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -26,6 +38,7 @@ class ItemTests {
 
   private final EntityManager em;
   private final ItemService itemService;
+  private final ItemImportService itemImportService;
 
   @Test
   void getItemsTest() {
@@ -50,12 +63,96 @@ class ItemTests {
     }
     em.flush();
 
-    var targetItems = itemService.getItems(user.getId(), null, null);
+    var targetItems = itemService.getItems(user.getId(), null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetItems.size())
             .isEqualTo(sourceItems.size()));
   }
 
+  @Test
+  void importItemsTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    var body = "[{\"name\": \"drill\", \"description\": \"cordless drill\", \"available\": true},"
+        + "{\"description\": \"no name\", \"available\": true},"
+        + "{\"name\": \"saw\", \"description\": \"hand saw\", \"available\": {}},"
+        + "{\"name\": \"ladder\", \"description\": \"tall ladder\", \"available\": false}]";
+
+    var results = itemImportService.importItems(user.getId(),
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    var items = itemService.getItems(user.getId(), null, null, null);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(results)
+          .extracting(ItemImportResultDto::getRow)
+          .containsExactly(1, 2, 3, 4);
+      softAssertions.assertThat(results)
+          .extracting(s -> s.getId() != null)
+          .containsExactly(true, false, false, true);
+      softAssertions.assertThat(results)
+          .extracting(s -> s.getError() != null)
+          .containsExactly(false, true, true, false);
+      softAssertions.assertThat(items)
+          .extracting(ItemWithBookingInfoDto::getName)
+          .containsExactlyInAnyOrder("drill", "ladder");
+    });
+  }
+
+  @Test
+  void importItemsWithUnknownRequestTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    var request = ItemRequest.builder()
+        .description("requestDescription")
+        .createDateTime(LocalDateTime.now())
+        .requesterId(user.getId())
+        .build();
+    em.persist(request);
+    var body = "[{\"name\": \"drill\", \"description\": \"cordless drill\", \"available\": true, "
+        + "\"requestId\": " + request.getId() + "},"
+        + "{\"name\": \"saw\", \"description\": \"hand saw\", \"available\": true, "
+        + "\"requestId\": " + (request.getId() + 1000) + "}]";
+
+    var results = itemImportService.importItems(user.getId(),
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    em.flush();
+    var items = itemService.getItems(user.getId(), null, null, null);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(results)
+          .extracting(s -> s.getId() != null)
+          .containsExactly(true, false);
+      softAssertions.assertThat(results.get(1).getError())
+          .isEqualTo("Request with id " + (request.getId() + 1000) + " not found");
+      softAssertions.assertThat(items)
+          .extracting(ItemWithBookingInfoDto::getName)
+          .containsExactly("drill");
+    });
+  }
+
+  @Test
+  void importItemsFromNdjsonTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    var body = "{\"name\": \"drill\", \"description\": \"cordless drill\", \"available\": true}\n"
+        + "{\"name\": \"ladder\", \"description\": \"tall ladder\", \"available\": false}\n"
+        + "{\"name\": \"saw\", \"description\n";
+
+    var results = itemImportService.importItems(user.getId(),
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(results)
+          .extracting(ItemImportResultDto::getRow)
+          .containsExactly(1, 2, 3);
+      softAssertions.assertThat(results)
+          .extracting(s -> s.getId() != null)
+          .containsExactly(true, true, false);
+      softAssertions.assertThat(results.get(2).getError())
+          .startsWith("Malformed JSON");
+    });
+  }
+
   @Test
   void getItemsWithBookingInfoTest() {
     var user = new User(null, "authorName", "mail@mail.com");
@@ -85,12 +182,49 @@ class ItemTests {
     em.persist(featureBooking);
     em.flush();
 
-    var targetItems = itemService.getItems(user.getId(), 0, 2);
+    var targetItems = itemService.getItems(user.getId(), 0, 2, null);
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(targetItems.get(0))
+          .usingRecursiveComparison()
+          .ignoringFields("ownerId", "requestId", "lastBooking", "nextBooking", "comments")
+          .isEqualTo(sourceItem);
+
+      softAssertions.assertThat(targetItems.get(0).getLastBooking().getId())
+          .isEqualTo(lastBooking.getId());
+
+      softAssertions.assertThat(targetItems.get(0).getNextBooking().getId())
+          .isEqualTo(featureBooking.getId());
+    });
+  }
+
+  @Test
+  void getItemsQueryCountTest() {
+    var owner = new User(null, "ownerName", "owner@mail.com");
+    var booker = new User(null, "bookerName", "booker@mail.com");
+    em.persist(owner);
+    em.persist(booker);
+    for (var i = 0; i < 5; i++) {
+      var item = Item.builder()
+          .name("itemName" + i)
+          .description("itemDescription")
+          .isAvailable(true)
+          .ownerId(owner.getId())
+          .build();
+      em.persist(item);
+      em.persist(Booking.builder()
+          .booker(booker)
+          .item(item)
+          .startDateTime(LocalDateTime.now().minusDays(i + 2))
+          .endDateTime(LocalDateTime.now().minusDays(i + 1))
+          .build());
+    }
+    em.flush();
+    em.clear();
+
+    var targetItems = assertMaxQueries(2, () -> itemService.getItems(owner.getId(), 0, 10, null));
     assertSoftly(softAssertions ->
-        softAssertions.assertThat(targetItems.get(0))
-            .usingRecursiveComparison()
-            .ignoringFields("ownerId", "requestId", "lastBooking", "nextBooking", "comments")
-            .isEqualTo(sourceItem));
+        softAssertions.assertThat(targetItems)
+            .allSatisfy(s -> softAssertions.assertThat(s.getLastBooking()).isNotNull()));
   }
 
   @Test
@@ -116,7 +250,7 @@ class ItemTests {
     }
     em.flush();
 
-    var targetItems = itemService.getItems(user.getId(), 0, 2);
+    var targetItems = itemService.getItems(user.getId(), 0, 2, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(targetItems.size())
             .isEqualTo(sourceItems.size()));
@@ -161,16 +295,26 @@ class ItemTests {
     );
 
     em.persist(user);
+    var entities = new ArrayList<Item>();
     for (var item : sourceItems) {
       var entity = ItemMapper.toItem(item, user.getId());
       em.persist(entity);
+      entities.add(entity);
+    }
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    TestTransaction.start();
+    try {
+      var targetItems = itemService.searchItem("itemName", null, null);
+      assertSoftly(softAssertions ->
+          softAssertions.assertThat(targetItems.size())
+              .isEqualTo(sourceItems.size()));
+    } finally {
+      entities.forEach(s -> em.remove(em.find(Item.class, s.getId())));
+      em.remove(em.find(User.class, user.getId()));
+      TestTransaction.flagForCommit();
     }
-    em.flush();
-
-    var targetItems = itemService.searchItem("itemName", null, null);
-    assertSoftly(softAssertions ->
-        softAssertions.assertThat(targetItems.size())
-            .isEqualTo(sourceItems.size()));
   }
 
   @Test
@@ -190,16 +334,50 @@ class ItemTests {
     );
 
     em.persist(user);
+    var entities = new ArrayList<Item>();
     for (var item : sourceItems) {
       var entity = ItemMapper.toItem(item, user.getId());
       em.persist(entity);
+      entities.add(entity);
     }
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    TestTransaction.start();
+    try {
+      var targetItems = itemService.searchItem("itemName", 0, 2);
+      assertSoftly(softAssertions ->
+          softAssertions.assertThat(targetItems.size())
+              .isEqualTo(sourceItems.size()));
+    } finally {
+      entities.forEach(s -> em.remove(em.find(Item.class, s.getId())));
+      em.remove(em.find(User.class, user.getId()));
+      TestTransaction.flagForCommit();
+    }
+  }
+
+  @Test
+  void searchIgnoresRolledBackItemsTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    em.persist(ItemMapper.toItem(ItemDto.builder()
+        .name("rolledBackItem")
+        .description("itemDescription")
+        .isAvailable(true)
+        .build(), user.getId()));
     em.flush();
 
-    var targetItems = itemService.searchItem("itemName", 0, 2);
-    assertSoftly(softAssertions ->
-        softAssertions.assertThat(targetItems.size())
-            .isEqualTo(sourceItems.size()));
+    var beforeCommit = itemService.searchItem("rolledBackItem", null, null);
+    TestTransaction.end();
+    TestTransaction.start();
+    var afterRollback = itemService.searchItem("rolledBackItem", null, null);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(beforeCommit)
+          .isEmpty();
+      softAssertions.assertThat(afterRollback)
+          .isEmpty();
+    });
   }
 
   @Test
@@ -284,4 +462,120 @@ class ItemTests {
             .ignoringFields("id")
             .isEqualTo(itemDto));
   }
+
+  @Test
+  void getItemsCursorPageTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    var sourceItems = List.of(
+        Item.builder().name("firstItem").description("itemDescription").isAvailable(true).ownerId(user.getId()).build(),
+        Item.builder().name("secondItem").description("itemDescription").isAvailable(true).ownerId(user.getId()).build(),
+        Item.builder().name("thirdItem").description("itemDescription").isAvailable(true).ownerId(user.getId()).build()
+    );
+    for (var item : sourceItems) {
+      em.persist(item);
+    }
+    em.flush();
+
+    var firstPage = itemService.getItems(user.getId(), 0, 2, null);
+    var cursor = new PageCursor(firstPage.get(firstPage.size() - 1).getId());
+    var secondPage = itemService.getItems(user.getId(), null, 2, cursor);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(firstPage)
+          .extracting(ItemWithBookingInfoDto::getId)
+          .containsExactly(sourceItems.get(0).getId(), sourceItems.get(1).getId());
+      softAssertions.assertThat(secondPage)
+          .extracting(ItemWithBookingInfoDto::getId)
+          .containsExactly(sourceItems.get(2).getId());
+    });
+  }
+
+  @Test
+  void findAvailableItemsTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    var sourceItems = List.of(
+        Item.builder().name("drill").description("overlapped").isAvailable(true).ownerId(user.getId()).build(),
+        Item.builder().name("drill").description("booked later").isAvailable(true).ownerId(user.getId()).build(),
+        Item.builder().name("drill").description("waiting").isAvailable(true).ownerId(user.getId()).build(),
+        Item.builder().name("drill").description("unavailable").isAvailable(false).ownerId(user.getId()).build(),
+        Item.builder().name("saw").description("free").isAvailable(true).ownerId(user.getId()).build()
+    );
+    for (var item : sourceItems) {
+      em.persist(item);
+    }
+    var start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    var end = start.plusDays(2);
+    em.persist(Booking.builder().booker(user).item(sourceItems.get(0)).status(BookingStatus.APPROVED)
+        .startDateTime(start.minusDays(1)).endDateTime(start.plusHours(1)).build());
+    em.persist(Booking.builder().booker(user).item(sourceItems.get(1)).status(BookingStatus.APPROVED)
+        .startDateTime(end).endDateTime(end.plusDays(1)).build());
+    em.persist(Booking.builder().booker(user).item(sourceItems.get(2)).status(BookingStatus.WAITING)
+        .startDateTime(start).endDateTime(end).build());
+    em.flush();
+
+    var firstPage = itemService.findAvailableItems("drill", start, end, 1, null);
+    var secondPage = itemService.findAvailableItems("drill", start, end, 2,
+        new PageCursor(firstPage.get(0).getId()));
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(firstPage)
+          .extracting(ItemDto::getId)
+          .containsExactly(sourceItems.get(1).getId());
+      softAssertions.assertThat(secondPage)
+          .extracting(ItemDto::getId)
+          .containsExactly(sourceItems.get(2).getId());
+    });
+  }
+
+  @Test
+  void streamItemsTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    for (var i = 0; i < 3; i++) {
+      em.persist(ItemMapper.toItem(ItemDto.builder()
+          .name("itemName" + i)
+          .description("itemDescription" + i)
+          .isAvailable(true)
+          .build(), user.getId()));
+    }
+    em.flush();
+
+    var streamedItems = new ArrayList<ItemWithBookingInfoDto>();
+    itemService.streamItems(user.getId(), streamedItems::add);
+    var pagedItems = itemService.getItems(user.getId(), 0, 10, null);
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(streamedItems)
+            .hasSize(3)
+            .usingRecursiveComparison()
+            .isEqualTo(pagedItems));
+  }
+
+  @Test
+  void streamItemsDetachesChunksTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    for (var i = 0; i < 250; i++) {
+      em.persist(ItemMapper.toItem(ItemDto.builder()
+          .name("itemName" + i)
+          .description("itemDescription" + i)
+          .isAvailable(true)
+          .build(), user.getId()));
+    }
+    em.flush();
+    em.clear();
+
+    var session = em.unwrap(Session.class);
+    var managedEntities = new ArrayList<Integer>();
+    itemService.streamItems(user.getId(), s -> managedEntities.add(session.getStatistics().getEntityCount()));
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(managedEntities)
+          .hasSize(250);
+      softAssertions.assertThat(managedEntities)
+          .allMatch(s -> s <= 100);
+      softAssertions.assertThat(session.getStatistics().getEntityCount())
+          .isZero();
+    });
+  }
 }
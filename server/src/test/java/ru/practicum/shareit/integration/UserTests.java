@@ -1,6 +1,7 @@
 package ru.practicum.shareit.integration;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static ru.practicum.shareit.querycount.QueryCountAssertions.assertMaxQueries;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -72,6 +74,30 @@ class UserTests {
             .isEqualTo(user));
   }
 
+  @Test
+  void getUserFromSecondLevelCacheTest() {
+    var user = new User(null, "authorName", "mail@mail.com");
+    em.persist(user);
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    TestTransaction.start();
+    try {
+      userService.getUser(user.getId());
+      em.clear();
+
+      var targetUser = assertMaxQueries(0, () -> userService.getUser(user.getId()));
+      assertSoftly(softAssertions ->
+          softAssertions.assertThat(targetUser)
+              .usingRecursiveComparison()
+              .ignoringFields("id")
+              .isEqualTo(user));
+    } finally {
+      userService.deleteUser(user.getId());
+      TestTransaction.flagForCommit();
+    }
+  }
+
   @Test
   void getUsersTest() {
     var user = new User(null, "authorName", "mail@mail.com");
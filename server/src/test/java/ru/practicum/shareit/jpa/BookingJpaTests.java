@@ -1,15 +1,20 @@
 package ru.practicum.shareit.jpa;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static ru.practicum.shareit.querycount.QueryCountAssertions.assertMaxQueries;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -26,7 +31,7 @@ class BookingJpaTests {
   private TestEntityManager em;
 
   @Test
-  void findAllCurrentBookingsByBookerIdTest() {
+  void findCurrentViewsByBookerIdTest() {
     var user = new User(null, "testUserName", "testUser@email.com");
     em.persist(user);
 
@@ -47,7 +52,7 @@ class BookingJpaTests {
         .build();
     em.persist(booking);
 
-    var bookings = bookingRepository.findAllCurrentBookingsByBookerId(user.getId(), LocalDateTime.now(),
+    var bookings = bookingRepository.findCurrentViewsByBookerId(user.getId(), LocalDateTime.now(),
         Pageable.unpaged());
 
     assertSoftly(softAssertions -> {
@@ -55,14 +60,14 @@ class BookingJpaTests {
           .usingRecursiveComparison()
           .isEqualTo(1);
 
-      softAssertions.assertThat(bookings.get(0))
+      softAssertions.assertThat(BookingMapper.toBookingCreateResponseDto(bookings.get(0)))
           .usingRecursiveComparison()
-          .isEqualTo(booking);
+          .isEqualTo(BookingMapper.toBookingCreateResponseDto(booking));
     });
   }
 
   @Test
-  void findAllCurrentBookingsByItemsIdsTest() {
+  void findCurrentViewsByOwnerIdTest() {
     var user = new User(null, "testUserName", "testUser@email.com");
     em.persist(user);
 
@@ -83,7 +88,7 @@ class BookingJpaTests {
         .build();
     em.persist(booking);
 
-    var bookings = bookingRepository.findAllCurrentBookingsByItemsIds(List.of(item.getId()), LocalDateTime.now(),
+    var bookings = bookingRepository.findCurrentViewsByOwnerId(user.getId(), LocalDateTime.now(),
         Pageable.unpaged());
 
     assertSoftly(softAssertions -> {
@@ -91,9 +96,105 @@ class BookingJpaTests {
           .usingRecursiveComparison()
           .isEqualTo(1);
 
-      softAssertions.assertThat(bookings.get(0))
+      softAssertions.assertThat(BookingMapper.toBookingCreateResponseDto(bookings.get(0)))
           .usingRecursiveComparison()
-          .isEqualTo(booking);
+          .isEqualTo(BookingMapper.toBookingCreateResponseDto(booking));
     });
   }
+
+  @Test
+  void findLastAndNextBookingsByItemIdsTest() {
+    var user = new User(null, "testUserName", "testUser@email.com");
+    em.persist(user);
+
+    var item = Item.builder()
+        .name("itemName")
+        .description("itemDescription")
+        .isAvailable(true)
+        .ownerId(user.getId())
+        .build();
+    em.persist(item);
+
+    var olderBooking = Booking.builder()
+        .item(item)
+        .booker(user)
+        .startDateTime(LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.SECONDS))
+        .endDateTime(LocalDateTime.now().minusDays(8).truncatedTo(ChronoUnit.SECONDS))
+        .status(BookingStatus.APPROVED)
+        .build();
+    var lastBooking = Booking.builder()
+        .item(item)
+        .booker(user)
+        .startDateTime(LocalDateTime.now().minusDays(5).truncatedTo(ChronoUnit.SECONDS))
+        .endDateTime(LocalDateTime.now().minusDays(3).truncatedTo(ChronoUnit.SECONDS))
+        .status(BookingStatus.APPROVED)
+        .build();
+    var nextBooking = Booking.builder()
+        .item(item)
+        .booker(user)
+        .startDateTime(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS))
+        .endDateTime(LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.SECONDS))
+        .status(BookingStatus.WAITING)
+        .build();
+    em.persist(olderBooking);
+    em.persist(lastBooking);
+    em.persist(nextBooking);
+
+    var lastBookings = bookingRepository.findLastBookingsByItemIds(List.of(item.getId()), LocalDateTime.now());
+    var nextBookings = bookingRepository.findNextBookingsByItemIds(List.of(item.getId()), LocalDateTime.now());
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(lastBookings.size())
+          .isEqualTo(1);
+      softAssertions.assertThat(lastBookings.get(0).getId())
+          .isEqualTo(lastBooking.getId());
+      softAssertions.assertThat(lastBookings.get(0).getItemId())
+          .isEqualTo(item.getId());
+      softAssertions.assertThat(lastBookings.get(0).getEndDateTime())
+          .isEqualTo(lastBooking.getEndDateTime());
+
+      softAssertions.assertThat(nextBookings.size())
+          .isEqualTo(1);
+      softAssertions.assertThat(nextBookings.get(0).getId())
+          .isEqualTo(nextBooking.getId());
+      softAssertions.assertThat(nextBookings.get(0).getBookerId())
+          .isEqualTo(user.getId());
+    });
+  }
+
+  @Test
+  void bookingViewsUseSingleQueryTest() {
+    var owner = new User(null, "ownerName", "owner@email.com");
+    em.persist(owner);
+    for (var i = 0; i < 3; i++) {
+      var booker = new User(null, "bookerName" + i, "booker" + i + "@email.com");
+      em.persist(booker);
+      var item = Item.builder()
+          .name("itemName" + i)
+          .description("itemDescription")
+          .isAvailable(true)
+          .ownerId(owner.getId())
+          .build();
+      em.persist(item);
+      em.persist(Booking.builder()
+          .item(item)
+          .booker(booker)
+          .startDateTime(LocalDateTime.now().plusDays(i + 1).truncatedTo(ChronoUnit.SECONDS))
+          .endDateTime(LocalDateTime.now().plusDays(i + 2).truncatedTo(ChronoUnit.SECONDS))
+          .status(BookingStatus.WAITING)
+          .build());
+    }
+    em.flush();
+    em.clear();
+
+    var responses = assertMaxQueries(1, () -> bookingRepository.findViewsByOwnerId(owner.getId(),
+            PageRequest.of(0, 10, Sort.by(Sort.Order.desc("b.endDateTime"), Sort.Order.desc("b.id")))).stream()
+        .map(BookingMapper::toBookingCreateResponseDto)
+        .collect(Collectors.toList()));
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(responses)
+            .extracting(s -> s.getBooker().getName())
+            .containsExactly("bookerName2", "bookerName1", "bookerName0"));
+  }
 }
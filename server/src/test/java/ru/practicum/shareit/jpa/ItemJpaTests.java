@@ -1,12 +1,20 @@
 package ru.practicum.shareit.jpa;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.querycount.QueryCountAssertions.assertMaxQueries;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hibernate.cache.internal.NoCachingRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -20,6 +28,20 @@ class ItemJpaTests {
   @Autowired
   private ItemRepository itemRepository;
 
+  @Test
+  void secondLevelCacheDisabledWithoutCacheConfigTest() {
+    var sessionFactory = em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled())
+          .isFalse();
+      softAssertions.assertThat(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled())
+          .isFalse();
+      softAssertions.assertThat(sessionFactory.getCache().getRegionFactory())
+          .isInstanceOf(NoCachingRegionFactory.class);
+    });
+  }
+
   @Test
   void findAllByNameOrDescriptionTest() {
     var user = new User(null, "testUserName", "testUser@email.com");
@@ -45,4 +67,40 @@ class ItemJpaTests {
           .isEqualTo(item);
     });
   }
+
+  @Test
+  void saveStaleItemTest() {
+    var user = em.persist(new User(null, "testUserName", "testUser@email.com"));
+    var item = em.persistFlushFind(new Item(null, "itemName", "itemDescription", true, user.getId(), null));
+    var staleItem = new Item(item.getId(), "staleName", item.getDescription(), true, user.getId(), null);
+    staleItem.setVersion(item.getVersion());
+
+    item.setName("newName");
+    em.flush();
+
+    assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.saveAndFlush(staleItem));
+  }
+
+  @Test
+  void saveAllItemsUsesBatchedInsertsTest() {
+    var user = em.persistAndFlush(new User(null, "testUserName", "testUser@email.com"));
+    var items = IntStream.range(0, 20)
+        .mapToObj(i -> new Item(null, "itemName" + i, "itemDescription" + i, true, user.getId(), null))
+        .collect(Collectors.toList());
+
+    var saved = assertMaxQueries(2, () -> {
+      var result = itemRepository.saveAll(items);
+      em.flush();
+      return result;
+    });
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(saved)
+          .extracting(Item::getId)
+          .doesNotContainNull()
+          .doesNotHaveDuplicates();
+      softAssertions.assertThat(itemRepository.count())
+          .isEqualTo(20);
+    });
+  }
 }
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static ru.practicum.shareit.querycount.QueryCountAssertions.captureStatements;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.request.repository.RequestRepository;
+
+@DataJpaTest
+class QueryPlanJpaTests {
+
+  private static final LocalDateTime NOW = LocalDateTime.now();
+  private static final PageRequest BOOKING_PAGE = PageRequest.of(0, 10,
+      Sort.by(Sort.Order.desc("endDateTime"), Sort.Order.desc("id")));
+  private static final PageRequest OWNER_BOOKING_PAGE = PageRequest.of(0, 10,
+      Sort.by(Sort.Order.desc("b.endDateTime"), Sort.Order.desc("b.id")));
+  private static final PageRequest ITEM_PAGE = PageRequest.of(0, 10, Sort.by("id").ascending());
+  private static final PageRequest REQUEST_PAGE = PageRequest.of(0, 10,
+      Sort.by(Sort.Order.desc("createDateTime"), Sort.Order.desc("id")));
+  private static final PageCursor BOOKING_CURSOR = new PageCursor(NOW, 1L);
+
+  @Autowired
+  private EntityManager em;
+  @Autowired
+  private BookingRepository bookingRepository;
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private CommentRepository commentRepository;
+  @Autowired
+  private RequestRepository requestRepository;
+  @Autowired
+  private ItemBookingSummaryRepository summaryRepository;
+
+  static Stream<Named<Consumer<QueryPlanJpaTests>>> finders() {
+    return Stream.of(
+        finder("findViewsByBookerId", t -> t.bookingRepository.findViewsByBookerId(1L, BOOKING_PAGE)),
+        finder("findCurrentViewsByBookerId",
+            t -> t.bookingRepository.findCurrentViewsByBookerId(1L, NOW, BOOKING_PAGE)),
+        finder("findPastViewsByBookerId", t -> t.bookingRepository.findPastViewsByBookerId(1L, NOW, BOOKING_PAGE)),
+        finder("findFutureViewsByBookerId",
+            t -> t.bookingRepository.findFutureViewsByBookerId(1L, NOW, BOOKING_PAGE)),
+        finder("findViewsByBookerIdAndStatus",
+            t -> t.bookingRepository.findViewsByBookerIdAndStatus(1L, BookingStatus.WAITING, BOOKING_PAGE)),
+        finder("findViewsByOwnerId", t -> t.bookingRepository.findViewsByOwnerId(1L, OWNER_BOOKING_PAGE)),
+        finder("findCurrentViewsByOwnerId",
+            t -> t.bookingRepository.findCurrentViewsByOwnerId(1L, NOW, OWNER_BOOKING_PAGE)),
+        finder("findPastViewsByOwnerId", t -> t.bookingRepository.findPastViewsByOwnerId(1L, NOW, OWNER_BOOKING_PAGE)),
+        finder("findFutureViewsByOwnerId", t -> t.bookingRepository.findFutureViewsByOwnerId(1L, NOW, OWNER_BOOKING_PAGE)),
+        finder("findViewsByOwnerIdAndStatus",
+            t -> t.bookingRepository.findViewsByOwnerIdAndStatus(1L, BookingStatus.WAITING, OWNER_BOOKING_PAGE)),
+        finder("findBookerBookingsAfter", t -> t.bookingRepository.findBookerBookingsAfter(1L, BookingFilter.PAST,
+            BOOKING_CURSOR, NOW, 10)),
+        finder("findOwnerBookingsAfter", t -> t.bookingRepository.findOwnerBookingsAfter(1L, BookingFilter.PAST,
+            BOOKING_CURSOR, NOW, 10)),
+        finder("findLastBookingsByItemIds", t -> t.bookingRepository.findLastBookingsByItemIds(List.of(1L, 2L), NOW)),
+        finder("findNextBookingsByItemIds", t -> t.bookingRepository.findNextBookingsByItemIds(List.of(1L, 2L), NOW)),
+        finder("aggregateByItemIds", t -> t.bookingRepository.aggregateByItemIds(List.of(1L, 2L), NOW)),
+        finder("findPeriodsByItemIds", t -> t.bookingRepository.findPeriodsByItemIds(List.of(1L, 2L))),
+        finder("existsByBookerIdAndItemIdAndEndDateTimeBefore",
+            t -> t.bookingRepository.existsByBookerIdAndItemIdAndEndDateTimeBefore(1L, 1L, NOW)),
+        finder("existsByItemIdAndStatusInAndEndDateTimeAfterAndStartDateTimeBefore",
+            t -> t.bookingRepository.existsByItemIdAndStatusInAndEndDateTimeAfterAndStartDateTimeBefore(1L,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW, NOW.plusDays(1))),
+        finder("findAllByOwnerId", t -> t.itemRepository.findAllByOwnerId(1L, ITEM_PAGE)),
+        finder("findAllByOwnerIdAndIdGreaterThan",
+            t -> t.itemRepository.findAllByOwnerIdAndIdGreaterThan(1L, 1L, ITEM_PAGE)),
+        finder("findAllByRequestId", t -> t.itemRepository.findAllByRequestId(1L)),
+        finder("findAllByRequestIdIn", t -> t.itemRepository.findAllByRequestIdIn(List.of(1L, 2L))),
+        finder("findAllByItemId", t -> t.commentRepository.findAllByItemId(1L)),
+        finder("findAllByRequesterId",
+            t -> t.requestRepository.findAllByRequesterId(1L, Sort.by("createDateTime").descending())),
+        finder("findAllByRequesterIdNotAfter",
+            t -> t.requestRepository.findAllByRequesterIdNotAfter(1L, NOW, 1L, REQUEST_PAGE)),
+        finder("findItemIdsToRefresh", t -> t.summaryRepository.findItemIdsToRefresh(NOW, PageRequest.of(0, 10)))
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("finders")
+  void finderUsesIndexTest(Consumer<QueryPlanJpaTests> finder) {
+    var statements = captureStatements(() -> finder.accept(this));
+    var plans = statements.stream()
+        .map(this::explain)
+        .toList();
+
+    assertThat(statements).isNotEmpty();
+    assertSoftly(softly -> plans.forEach(plan -> softly.assertThat(plan)
+        .doesNotContainIgnoringCase("tableScan")));
+  }
+
+  private String explain(String sql) {
+    return em.unwrap(Session.class).doReturningWork(connection -> explain(connection, sql));
+  }
+
+  private static String explain(Connection connection, String sql) throws SQLException {
+    try (var statement = connection.prepareStatement("EXPLAIN " + sql)) {
+      var parameterCount = statement.getParameterMetaData().getParameterCount();
+      for (int i = 1; i <= parameterCount; i++) {
+        statement.setNull(i, Types.NULL);
+      }
+      try (var resultSet = statement.executeQuery()) {
+        resultSet.next();
+        return resultSet.getString(1);
+      }
+    }
+  }
+
+  private static Named<Consumer<QueryPlanJpaTests>> finder(String name, Consumer<QueryPlanJpaTests> finder) {
+    return Named.of(name, finder);
+  }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.querycount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public final class QueryCountAssertions {
+
+  private QueryCountAssertions() {
+  }
+
+  public static <T> T assertMaxQueries(int maxQueries, Supplier<T> action) {
+    QueryCountInspector.reset();
+    var result = action.get();
+    assertThat(QueryCountInspector.getCount())
+        .as("executed statements")
+        .isLessThanOrEqualTo(maxQueries);
+    return result;
+  }
+
+  public static List<String> captureStatements(Runnable action) {
+    QueryCountInspector.startCapture();
+    try {
+      action.run();
+    } catch (RuntimeException e) {
+      QueryCountInspector.stopCapture();
+      throw e;
+    }
+    return QueryCountInspector.stopCapture();
+  }
+}
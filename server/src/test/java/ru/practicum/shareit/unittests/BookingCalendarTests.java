@@ -0,0 +1,123 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.mockito.ArgumentMatchers.any;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.calendar.BookingCalendarCache;
+import ru.practicum.shareit.booking.calendar.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+class BookingCalendarTests {
+
+  private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+  private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+  @Test
+  void hasOverlapTest() {
+    var calendar = BookingCalendar.of(List.of(
+        period(1L, now.minusDays(10), now.plusDays(10), BookingStatus.REJECTED),
+        period(2L, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED),
+        period(3L, now.plusDays(5), now.plusDays(6), BookingStatus.WAITING)
+    ));
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(calendar.hasOverlap(ACTIVE_STATUSES, now, now.plusDays(1))).isFalse();
+      softAssertions.assertThat(calendar.hasOverlap(ACTIVE_STATUSES, now, now.plusDays(1).plusSeconds(1))).isTrue();
+      softAssertions.assertThat(calendar.hasOverlap(ACTIVE_STATUSES, now.plusDays(2), now.plusDays(5))).isFalse();
+      softAssertions.assertThat(calendar.hasOverlap(ACTIVE_STATUSES, now.plusDays(4), now.plusDays(7))).isTrue();
+      softAssertions.assertThat(calendar.hasOverlap(List.of(BookingStatus.REJECTED), now.plusDays(8), now.plusDays(9)))
+          .isTrue();
+    });
+  }
+
+  @Test
+  void withTest() {
+    var calendar = BookingCalendar.of(List.of(
+        period(1L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING),
+        period(2L, now.plusDays(5), now.plusDays(6), BookingStatus.WAITING)
+    ));
+
+    var inserted = calendar.with(period(3L, now.plusDays(3), now.plusDays(4), BookingStatus.WAITING));
+    var rejected = inserted.with(period(1L, now.plusDays(1), now.plusDays(2), BookingStatus.REJECTED));
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(calendar.size()).isEqualTo(2);
+      softAssertions.assertThat(inserted.size()).isEqualTo(3);
+      softAssertions.assertThat(inserted.hasOverlap(ACTIVE_STATUSES, now.plusDays(3), now.plusDays(4))).isTrue();
+      softAssertions.assertThat(rejected.size()).isEqualTo(3);
+      softAssertions.assertThat(rejected.hasOverlap(ACTIVE_STATUSES, now.plusDays(1), now.plusDays(2))).isFalse();
+    });
+  }
+
+  @Test
+  void toSummaryTest() {
+    var calendar = BookingCalendar.of(List.of(
+        period(1L, now.minusDays(5), now.minusDays(4), BookingStatus.APPROVED),
+        period(2L, now.minusDays(3), now.minusDays(2), BookingStatus.REJECTED),
+        period(3L, now.minusHours(1), now.plusHours(1), BookingStatus.APPROVED),
+        period(4L, now.plusDays(2), now.plusDays(3), BookingStatus.WAITING)
+    ));
+
+    var summary = calendar.toSummary(1L, now);
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(summary.getLastBookingId()).isEqualTo(2L);
+      softAssertions.assertThat(summary.getLastEndDateTime()).isEqualTo(now.minusDays(2));
+      softAssertions.assertThat(summary.getNextBookingId()).isEqualTo(4L);
+      softAssertions.assertThat(summary.getNextStartDateTime()).isEqualTo(now.plusDays(2));
+      softAssertions.assertThat(summary.getApprovedCount()).isEqualTo(2L);
+      softAssertions.assertThat(summary.getRefreshAt()).isEqualTo(now.plusHours(1));
+    });
+  }
+
+  @Test
+  void cachedCalendarFollowsBookingChangesTest() {
+    var bookingRepository = Mockito.mock(BookingRepository.class);
+    var cache = new BookingCalendarCache(bookingRepository, new SimpleMeterRegistry(), true, 1024 * 1024, 600);
+    Mockito.when(bookingRepository.findPeriodsByItemIds(any())).thenReturn(List.of());
+
+    var beforeBooking = cache.hasOverlap(1L, ACTIVE_STATUSES, now.plusDays(1), now.plusDays(2));
+    cache.onBookingChanged(new BookingChangedEvent(
+        period(1L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING)));
+    var afterBooking = cache.hasOverlap(1L, ACTIVE_STATUSES, now.plusDays(1), now.plusDays(2));
+
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(beforeBooking).isFalse();
+      softAssertions.assertThat(afterBooking).isTrue();
+    });
+    Mockito.verify(bookingRepository, Mockito.times(1)).findPeriodsByItemIds(any());
+  }
+
+  @Test
+  void calendarLoadedDuringBookingChangeIsNotCachedTest() {
+    var bookingRepository = Mockito.mock(BookingRepository.class);
+    var cache = new BookingCalendarCache(bookingRepository, new SimpleMeterRegistry(), true, 1024 * 1024, 600);
+    var booking = period(1L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+    Mockito.when(bookingRepository.findPeriodsByItemIds(any()))
+        .thenAnswer(invocation -> {
+          cache.onBookingChanged(new BookingChangedEvent(booking));
+          return List.of();
+        })
+        .thenReturn(List.of(booking));
+
+    cache.getSummaries(List.of(1L), now);
+    var afterBooking = cache.hasOverlap(1L, ACTIVE_STATUSES, now.plusDays(1), now.plusDays(2));
+
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(afterBooking).isTrue());
+    Mockito.verify(bookingRepository, Mockito.times(2)).findPeriodsByItemIds(any());
+  }
+
+  private static BookingPeriod period(long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+    return new BookingPeriod(1L, id, 10L, start, end, status);
+  }
+}
@@ -1,22 +1,31 @@
 package ru.practicum.shareit.unittests;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.calendar.BookingCalendarCache;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.item.model.Item;
@@ -33,10 +42,15 @@ class BookingServiceTests {
   private UserRepository userRepository;
   @Mock
   private ItemRepository itemRepository;
+  @Mock
+  private BookingCalendarCache calendarCache;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
 
   @Test
   void bookItemTest() {
-    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+        calendarCache, eventPublisher);
 
     var bookerId = 1L;
     var bookingRequestDto = BookingCreateRequestDto.builder()
@@ -57,7 +71,7 @@ class BookingServiceTests {
 
     Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(user));
     Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-    Mockito.when(bookingRepository.save(any())).thenReturn(booking);
+    Mockito.when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
     var actualBooking = bookingService.bookItem(bookerId, bookingRequestDto);
     assertSoftly(softAssertions ->
@@ -66,9 +80,68 @@ class BookingServiceTests {
             .isEqualTo(BookingMapper.toBookingCreateResponseDto(booking)));
   }
 
+  @Test
+  void bookItemOverlapTest() {
+    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+        calendarCache, eventPublisher);
+
+    var bookerId = 1L;
+    var bookingRequestDto = BookingCreateRequestDto.builder()
+        .itemId(1L)
+        .startDateTime(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+        .endDateTime(LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS))
+        .build();
+    var user = new User(bookerId, "testUserName", "testUser@email.com");
+    var item = Item.builder()
+        .id(1L)
+        .isAvailable(true)
+        .ownerId(3L)
+        .build();
+
+    Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(user));
+    Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+    Mockito.when(bookingRepository.existsByItemIdAndStatusInAndEndDateTimeAfterAndStartDateTimeBefore(
+            item.getId(), List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+            bookingRequestDto.getStartDateTime(), bookingRequestDto.getEndDateTime()))
+        .thenReturn(true);
+
+    assertThrows(BookingConflictException.class, () -> bookingService.bookItem(bookerId, bookingRequestDto));
+    Mockito.verify(bookingRepository, Mockito.never()).saveAndFlush(any());
+  }
+
+  @Test
+  void bookItemExclusionViolationTest() {
+    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+        calendarCache, eventPublisher);
+
+    var bookerId = 1L;
+    var bookingRequestDto = BookingCreateRequestDto.builder()
+        .itemId(1L)
+        .startDateTime(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+        .endDateTime(LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS))
+        .build();
+    var user = new User(bookerId, "testUserName", "testUser@email.com");
+    var item = Item.builder()
+        .id(1L)
+        .isAvailable(true)
+        .ownerId(3L)
+        .build();
+    var violation = new ConstraintViolationException("conflicting key value violates exclusion constraint",
+        new SQLException("exclusion violation", "23P01"), "ex_bookings_item_period");
+
+    Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(user));
+    Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+    Mockito.when(bookingRepository.saveAndFlush(any()))
+        .thenThrow(new DataIntegrityViolationException("could not execute batch", violation));
+
+    assertThrows(BookingConflictException.class, () -> bookingService.bookItem(bookerId, bookingRequestDto));
+    Mockito.verifyNoInteractions(eventPublisher);
+  }
+
   @Test
   void decidingOnRequestTest() {
-    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+        calendarCache, eventPublisher);
 
     var userId = 1L;
     var bookingId = 1L;
@@ -87,7 +160,7 @@ class BookingServiceTests {
         .ownerId(userId)
         .build());
 
-    Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+    Mockito.when(bookingRepository.findDetailedById(bookingId)).thenReturn(Optional.of(booking));
     Mockito.when(bookingRepository.save(any())).thenReturn(booking);
 
     var actualBooking = bookingService.decidingOnRequest(userId, bookingId, true);
@@ -99,7 +172,8 @@ class BookingServiceTests {
 
   @Test
   void getBookingInfoTest() {
-    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+        calendarCache, eventPublisher);
 
     var userId = 1L;
     var bookingRequestDto = BookingCreateRequestDto.builder()
@@ -119,7 +193,7 @@ class BookingServiceTests {
         .build());
     booking.setBooker(new User(userId, "testUserName", "testUser@email.com"));
 
-    Mockito.when(bookingRepository.findById(bookingRequestDto.getId())).thenReturn(Optional.of(booking));
+    Mockito.when(bookingRepository.findDetailedById(bookingRequestDto.getId())).thenReturn(Optional.of(booking));
 
     var actualBooking = bookingService.getBookingInfo(userId, bookingRequestDto.getId());
     assertSoftly(softAssertions ->
@@ -130,7 +204,8 @@ class BookingServiceTests {
 
   @Test
   void getAllBookingInfoTest() {
-    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+        calendarCache, eventPublisher);
 
     var userId = 1L;
     var bookingRequestDto = BookingCreateRequestDto.builder()
@@ -151,9 +226,9 @@ class BookingServiceTests {
     booking.setBooker(new User(userId, "testUserName", "testUser@email.com"));
 
     Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(booking.getBooker()));
-    Mockito.when(bookingRepository.findAllByBookerId(anyLong(), any())).thenReturn(List.of(booking));
+    Mockito.when(bookingRepository.findViewsByBookerId(anyLong(), any())).thenReturn(List.of(toView(booking)));
 
-    var actualBooking = bookingService.getAllBookingInfo(userId, BookingFilter.ALL, null, null);
+    var actualBooking = bookingService.getAllBookingInfo(userId, BookingFilter.ALL, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(actualBooking)
             .usingRecursiveComparison()
@@ -162,7 +237,8 @@ class BookingServiceTests {
 
   @Test
   void getAllOwnerBookingInfoTest() {
-    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+    var bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+        calendarCache, eventPublisher);
 
     var userId = 1L;
     var bookingRequestDto = BookingCreateRequestDto.builder()
@@ -183,13 +259,21 @@ class BookingServiceTests {
     booking.setBooker(new User(userId, "testUserName", "testUser@email.com"));
 
     Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(booking.getBooker()));
-    Mockito.when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(List.of(booking.getItem()));
-    Mockito.when(bookingRepository.findAllByItemIdIn(anyList(), any())).thenReturn(List.of(booking));
+    Mockito.when(bookingRepository.findViewsByOwnerId(anyLong(), any())).thenReturn(List.of(toView(booking)));
 
-    var actualBooking = bookingService.getAllOwnerBookingInfo(userId, BookingFilter.ALL, null, null);
+    var actualBooking = bookingService.getAllOwnerBookingInfo(userId, BookingFilter.ALL, null, null, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(actualBooking)
             .usingRecursiveComparison()
             .isEqualTo(List.of(BookingMapper.toBookingCreateResponseDto(booking))));
   }
+
+  private static BookingView toView(Booking booking) {
+    var item = booking.getItem();
+    var booker = booking.getBooker();
+    return new BookingView(booking.getId(), booking.getStartDateTime(), booking.getEndDateTime(), booking.getStatus(),
+        item.getId(), item.getName(), item.getDescription(), item.getIsAvailable(), item.getOwnerId(),
+        item.getRequestId(), item.getVersion(), booker.getId(), booker.getName(), booker.getEmail(),
+        booker.getVersion());
+  }
 }
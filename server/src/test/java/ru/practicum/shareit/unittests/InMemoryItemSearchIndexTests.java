@@ -0,0 +1,91 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.mockito.ArgumentMatchers.any;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearchIndex;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchIndexTests {
+
+  @Mock
+  private ItemRepository itemRepository;
+
+  @Test
+  void searchRanksNameMatchesFirstTest() {
+    var searchIndex = new InMemoryItemSearchIndex(itemRepository);
+
+    var descriptionMatch = new Item(1L, "Отвертка", "Аккумуляторная дрель в комплекте", true, 1L, null);
+    var nameMatch = new Item(2L, "Дрель", "Простая дрель", true, 1L, null);
+    var unavailable = new Item(3L, "Дрель ударная", "Дрель", false, 1L, null);
+    searchIndex.index(descriptionMatch);
+    searchIndex.index(nameMatch);
+    searchIndex.index(unavailable);
+
+    Mockito.when(itemRepository.findAllById(any())).thenReturn(List.of(descriptionMatch, nameMatch));
+
+    var items = searchIndex.search("дрел", Pageable.unpaged());
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(items)
+            .extracting(Item::getId)
+            .containsExactly(nameMatch.getId(), descriptionMatch.getId()));
+  }
+
+  @Test
+  void searchReflectsUpdatesTest() {
+    var searchIndex = new InMemoryItemSearchIndex(itemRepository);
+
+    var item = new Item(1L, "Отвертка", "Крестовая", true, 1L, null);
+    searchIndex.index(item);
+    searchIndex.index(new Item(1L, "Молоток", "Столярный", true, 1L, null));
+
+    var items = searchIndex.search("отверт", PageRequest.of(0, 10));
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(items)
+            .isEmpty());
+  }
+
+  @Test
+  void searchEvictsRemovedItemsTest() {
+    var searchIndex = new InMemoryItemSearchIndex(itemRepository);
+
+    searchIndex.index(new Item(1L, "Отвертка", "Крестовая", true, 1L, null));
+    Mockito.when(itemRepository.findAllById(any())).thenReturn(List.of());
+
+    var items = searchIndex.search("отвертка", Pageable.unpaged());
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(items)
+            .isEmpty());
+    Mockito.verify(itemRepository, Mockito.times(1)).findAllById(any());
+  }
+
+  @Test
+  void searchInsideTokensTest() {
+    var searchIndex = new InMemoryItemSearchIndex(itemRepository);
+
+    var infixMatch = new Item(1L, "Шуруповерт", "Аккумуляторный", true, 1L, null);
+    var removed = new Item(2L, "Верстак", "Складной", true, 1L, null);
+    searchIndex.index(infixMatch);
+    searchIndex.index(removed);
+    searchIndex.index(new Item(3L, "Молоток", "Столярный", true, 1L, null));
+    searchIndex.remove(removed.getId());
+
+    Mockito.when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(infixMatch));
+
+    var items = searchIndex.search("вер", Pageable.unpaged());
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(items)
+            .extracting(Item::getId)
+            .containsExactly(infixMatch.getId()));
+  }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.invalidation.InvalidationEntry;
+import ru.practicum.shareit.invalidation.InvalidationLog;
+import ru.practicum.shareit.invalidation.ResourceChangedEvent;
+import ru.practicum.shareit.invalidation.ResourceType;
+
+class InvalidationLogTests {
+
+  @Test
+  void getEntriesAfterTest() {
+    var invalidationLog = new InvalidationLog(10);
+
+    var initial = invalidationLog.getEntriesAfter(null, 0);
+    invalidationLog.onResourceChanged(new ResourceChangedEvent(ResourceType.ITEM, 1L));
+    invalidationLog.onResourceChanged(new ResourceChangedEvent(ResourceType.USER, 2L));
+    var batch = invalidationLog.getEntriesAfter(initial.getEpoch(), 1);
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(initial.isReset())
+          .isTrue();
+      softAssertions.assertThat(batch.isReset())
+          .isFalse();
+      softAssertions.assertThat(batch.getSequence())
+          .isEqualTo(2L);
+      softAssertions.assertThat(batch.getEvents())
+          .extracting(InvalidationEntry::getType, InvalidationEntry::getId)
+          .containsExactly(tuple(ResourceType.USER, 2L));
+    });
+  }
+
+  @Test
+  void getEntriesAfterOverflowTest() {
+    var invalidationLog = new InvalidationLog(2);
+
+    var epoch = invalidationLog.getEntriesAfter(null, 0).getEpoch();
+    for (var i = 1L; i <= 3; i++) {
+      invalidationLog.onResourceChanged(new ResourceChangedEvent(ResourceType.ITEM, i));
+    }
+    var missed = invalidationLog.getEntriesAfter(epoch, 0);
+    var caughtUp = invalidationLog.getEntriesAfter(epoch, 1);
+    var foreignEpoch = invalidationLog.getEntriesAfter("unknown", 3);
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(missed.isReset())
+          .isTrue();
+      softAssertions.assertThat(caughtUp.getEvents())
+          .extracting(InvalidationEntry::getId)
+          .containsExactly(2L, 3L);
+      softAssertions.assertThat(foreignEpoch.isReset())
+          .isTrue();
+    });
+  }
+}
@@ -103,12 +103,12 @@ class ItemRequestServiceTests {
 
     Mockito
         .when(requestRepository.findAllByRequesterIdNot(notRequesterId,
-            PageRequest.of(0, 2, Sort.by("createDateTime").descending())))
+            PageRequest.of(0, 2, Sort.by(Sort.Order.desc("createDateTime"), Sort.Order.desc("id")))))
         .thenReturn(List.of(expectedItemRequest));
     var expectedItemRequestDto = ItemRequestMapper.toItemRequestDto(expectedItemRequest);
     expectedItemRequestDto.setItems(Collections.emptyList());
 
-    var itemRequestDto = itemRequestService.getItemRequests(notRequesterId, 0, 2);
+    var itemRequestDto = itemRequestService.getItemRequests(notRequesterId, 0, 2, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(itemRequestDto.get(0))
             .usingRecursiveComparison()
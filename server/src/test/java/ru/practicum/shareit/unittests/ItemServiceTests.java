@@ -15,7 +15,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -23,7 +25,9 @@ import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -38,10 +42,19 @@ class ItemServiceTests {
   private BookingRepository bookingRepository;
   @Mock
   private CommentRepository commentRepository;
+  @Mock
+  private RequestRepository requestRepository;
+  @Mock
+  private ItemBookingSummaryService summaryService;
+  @Mock
+  private ItemSearchIndex searchIndex;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
 
   @Test
   void createItemTest() {
-    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+        requestRepository, summaryService, searchIndex, eventPublisher);
 
     var userId = 1L;
     var inputItemDto = ItemDto.builder()
@@ -51,6 +64,7 @@ class ItemServiceTests {
         .requestId(1L)
         .build();
     var expectedItem = ItemMapper.toItem(inputItemDto, userId);
+    expectedItem.setId(1L);
 
     Mockito.when(userRepository.findById(anyLong())).thenReturn(Optional.of(new User()));
     Mockito.when(itemRepository.save(any())).thenReturn(expectedItem);
@@ -64,7 +78,8 @@ class ItemServiceTests {
 
   @Test
   void updateItemTest() {
-    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+        requestRepository, summaryService, searchIndex, eventPublisher);
 
     var userId = 1L;
     var previousItem = Item.builder()
@@ -96,7 +111,8 @@ class ItemServiceTests {
 
   @Test
   void getItemTest() {
-    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+        requestRepository, summaryService, searchIndex, eventPublisher);
 
     var userId = 1L;
     var expectedItem = Item.builder()
@@ -121,7 +137,8 @@ class ItemServiceTests {
 
   @Test
   void getItemsTest() {
-    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+        requestRepository, summaryService, searchIndex, eventPublisher);
 
     var userId = 1L;
     var expectedItem = Item.builder()
@@ -137,7 +154,7 @@ class ItemServiceTests {
     Mockito.when(itemRepository.findAllByOwnerId(anyLong(), any()))
         .thenReturn(List.of(expectedItem));
 
-    var item = itemService.getItems(userId, 0, 2);
+    var item = itemService.getItems(userId, 0, 2, null);
     assertSoftly(softAssertions ->
         softAssertions.assertThat(item)
             .usingRecursiveComparison()
@@ -146,7 +163,8 @@ class ItemServiceTests {
 
   @Test
   void searchItemsTest() {
-    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+        requestRepository, summaryService, searchIndex, eventPublisher);
 
     var userId = 1L;
     var expectedItem = Item.builder()
@@ -159,7 +177,7 @@ class ItemServiceTests {
         .build();
     var expectedDto = ItemMapper.toItemDto(expectedItem);
 
-    Mockito.when(itemRepository.findAllByNameOrDescription(anyString(), any())).thenReturn(List.of(expectedItem));
+    Mockito.when(searchIndex.search(anyString(), any())).thenReturn(List.of(expectedItem));
 
     var item = itemService.searchItem(expectedItem.getName(), 0, 2);
     assertSoftly(softAssertions ->
@@ -170,7 +188,8 @@ class ItemServiceTests {
 
   @Test
   void getItemByRequestIdTest() {
-    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+        requestRepository, summaryService, searchIndex, eventPublisher);
 
     var requestId = 1L;
     var expectedItem = Item.builder()
@@ -194,7 +213,8 @@ class ItemServiceTests {
 
   @Test
   void addCommentTest() {
-    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+    var itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+        requestRepository, summaryService, searchIndex, eventPublisher);
 
     var userId = 1L;
     var itemId = 1L;
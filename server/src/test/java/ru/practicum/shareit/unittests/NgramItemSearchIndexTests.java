@@ -0,0 +1,117 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.mockito.ArgumentMatchers.any;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.NgramItemSearchIndex;
+
+@ExtendWith(MockitoExtension.class)
+class NgramItemSearchIndexTests {
+
+  @Mock
+  private ItemRepository itemRepository;
+
+  @Test
+  void searchSubstringTest() {
+    var searchIndex = new NgramItemSearchIndex(itemRepository);
+
+    var descriptionMatch = new Item(1L, "Отвертка", "Аккумуляторная дрель в комплекте", true, 1L, null);
+    var nameMatch = new Item(2L, "Дрель", "Простая", true, 1L, null);
+    var unavailable = new Item(3L, "Дрель ударная", "Дрель", false, 1L, null);
+    var falsePositive = new Item(4L, "дре рел", "рель", true, 1L, null);
+    searchIndex.index(descriptionMatch);
+    searchIndex.index(nameMatch);
+    searchIndex.index(unavailable);
+    searchIndex.index(falsePositive);
+
+    Mockito.when(itemRepository.findAllById(any())).thenReturn(List.of(descriptionMatch, nameMatch));
+
+    var items = searchIndex.search("ДРЕЛ", Pageable.unpaged());
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(items)
+            .extracting(Item::getId)
+            .containsExactly(nameMatch.getId(), descriptionMatch.getId()));
+  }
+
+  @Test
+  void searchShortQueryTest() {
+    var searchIndex = new NgramItemSearchIndex(itemRepository);
+
+    var item = new Item(1L, "Ю", "", true, 1L, null);
+    searchIndex.index(item);
+    searchIndex.index(new Item(2L, "Молоток", "Столярный", true, 1L, null));
+
+    Mockito.when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(item));
+
+    var items = searchIndex.search("ю", PageRequest.of(0, 10));
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(items)
+            .extracting(Item::getId)
+            .containsExactly(item.getId()));
+  }
+
+  @Test
+  void searchReflectsUpdatesAndPagesTest() {
+    var searchIndex = new NgramItemSearchIndex(itemRepository);
+
+    searchIndex.index(new Item(1L, "Отвертка", "Крестовая", true, 1L, null));
+    searchIndex.index(new Item(1L, "Молоток", "Столярный", true, 1L, null));
+    var first = new Item(2L, "Молоток большой", "", true, 1L, null);
+    var second = new Item(3L, "Молоток малый", "", true, 1L, null);
+    searchIndex.index(first);
+    searchIndex.index(second);
+
+    Mockito.when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(first));
+
+    var removed = searchIndex.search("отверт", PageRequest.of(0, 10));
+    var page = searchIndex.search("молоток", PageRequest.of(1, 1));
+    assertSoftly(softAssertions -> {
+      softAssertions.assertThat(removed)
+          .isEmpty();
+      softAssertions.assertThat(page)
+          .extracting(Item::getId)
+          .containsExactly(first.getId());
+    });
+  }
+
+  @Test
+  void searchAfterManyUpdatesTest() {
+    var searchIndex = new NgramItemSearchIndex(itemRepository);
+
+    var items = new HashMap<Long, Item>();
+    for (var id = 1L; id <= 1000; id++) {
+      var item = new Item(id, "Item " + id, id % 2 == 0 ? "Cordless drill" : "Hand saw", true, 1L, null);
+      items.put(id, item);
+      searchIndex.index(item);
+    }
+    for (var id = 4L; id <= 1000; id += 4) {
+      searchIndex.remove(id);
+    }
+
+    Mockito.when(itemRepository.findAllById(any())).thenAnswer(invocation -> {
+      Iterable<Long> ids = invocation.getArgument(0);
+      return StreamSupport.stream(ids.spliterator(), false)
+          .map(items::get)
+          .collect(Collectors.toList());
+    });
+
+    var drills = searchIndex.search("drill", Pageable.unpaged());
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(drills)
+            .hasSize(250)
+            .allMatch(s -> s.getId() % 4 == 2));
+  }
+}
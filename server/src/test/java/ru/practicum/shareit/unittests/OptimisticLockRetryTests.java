@@ -0,0 +1,91 @@
+package ru.practicum.shareit.unittests;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.practicum.shareit.config.RetryConfig;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = {
+    "shareit.optimistic-lock.max-attempts=3",
+    "shareit.optimistic-lock.backoff-ms=1"
+})
+class OptimisticLockRetryTests {
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    Mockito.reset(userRepository);
+    user = new User(1L, "testUserName", "testUser@email.com");
+    user.setVersion(0L);
+    when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+  }
+
+  @Test
+  void updateUserRetriesOnConflictTest() {
+    when(userRepository.save(any()))
+        .thenThrow(new ObjectOptimisticLockingFailureException(User.class, user.getId()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    var updatedUser = userService.updateUser(user.getId(), new UserDto(null, "newName", null));
+    verify(userRepository, times(2)).findById(user.getId());
+    assertSoftly(softAssertions ->
+        softAssertions.assertThat(updatedUser.getName())
+            .isEqualTo("newName"));
+  }
+
+  @Test
+  void updateUserGivesUpOnConflictTest() {
+    when(userRepository.save(any()))
+        .thenThrow(new ObjectOptimisticLockingFailureException(User.class, user.getId()));
+
+    assertThrows(ObjectOptimisticLockingFailureException.class,
+        () -> userService.updateUser(user.getId(), new UserDto(null, "newName", null)));
+    verify(userRepository, times(3)).save(any());
+  }
+
+  @Configuration
+  @EnableAspectJAutoProxy
+  @Import(RetryConfig.class)
+  static class Config {
+
+    @Bean
+    public UserRepository userRepository() {
+      return Mockito.mock(UserRepository.class);
+    }
+
+    @Bean
+    public UserService userService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
+      return new UserServiceImpl(userRepository, eventPublisher);
+    }
+  }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -21,10 +22,12 @@ class UserServiceTests {
 
   @Mock
   private UserRepository userRepository;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
 
   @Test
   void createUserTest() {
-    var userService = new UserServiceImpl(userRepository);
+    var userService = new UserServiceImpl(userRepository, eventPublisher);
 
     var inputUserDto = new UserDto(null, "testUserName", "testUser@email.com");
     var expectedUser = User.builder()
@@ -44,7 +47,7 @@ class UserServiceTests {
 
   @Test
   void updateUserTest() {
-    var userService = new UserServiceImpl(userRepository);
+    var userService = new UserServiceImpl(userRepository, eventPublisher);
 
     var inputUserDto = new UserDto(1L, "testUserName", "testUser@email.com");
     var previousVersionUser = User.builder()
@@ -70,7 +73,7 @@ class UserServiceTests {
 
   @Test
   void getUserTest() {
-    var userService = new UserServiceImpl(userRepository);
+    var userService = new UserServiceImpl(userRepository, eventPublisher);
 
     var expectedUser = User.builder()
         .id(1L)
@@ -89,7 +92,7 @@ class UserServiceTests {
 
   @Test
   void getUsersTest() {
-    var userService = new UserServiceImpl(userRepository);
+    var userService = new UserServiceImpl(userRepository, eventPublisher);
 
     var expectedUsers = List.of(User.builder()
         .id(1L)
@@ -108,7 +111,7 @@ class UserServiceTests {
 
   @Test
   void deleteUserTest() {
-    var userService = new UserServiceImpl(userRepository);
+    var userService = new UserServiceImpl(userRepository, eventPublisher);
 
     var userId = 1L;
     userService.deleteUser(userId);